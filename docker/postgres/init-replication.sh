@@ -0,0 +1,11 @@
+#!/bin/sh
+# Runs once when the local primary's data directory is first created (docker-compose.local-db.yml):
+# adds the role and pg_hba entry the postgres-replica service streams from. An existing postgres_data
+# volume never runs it, so recreate the volume before first using the replica profile.
+set -e
+
+psql -v ON_ERROR_STOP=1 --username "$POSTGRES_USER" --dbname "$POSTGRES_DB" <<-EOSQL
+    CREATE ROLE replicator WITH REPLICATION LOGIN PASSWORD 'replicator_password';
+EOSQL
+
+echo "host replication replicator all scram-sha-256" >> "$PGDATA/pg_hba.conf"
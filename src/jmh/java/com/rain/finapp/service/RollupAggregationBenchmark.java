@@ -0,0 +1,51 @@
+package com.rain.finapp.service;
+
+import com.rain.finapp.model.Transaction;
+import com.rain.finapp.model.TransactionRollupId;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The budget summary itself is computed by the database from the rollup table; the part that
+ * still runs in Java is folding a ledger into monthly rollup buckets (bulk ingest and import).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class RollupAggregationBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    private int rows;
+
+    private UUID userId;
+    private List<Transaction> ledger;
+
+    @Setup
+    public void setUp() {
+        var user = SyntheticLedger.user();
+        userId = user.getUserId();
+        ledger = SyntheticLedger.transactions(user, rows);
+    }
+
+    @Benchmark
+    public Map<TransactionRollupId, RollupService.BucketTotals> sumByBucket() {
+        return RollupService.sumByBucket(userId, ledger);
+    }
+}
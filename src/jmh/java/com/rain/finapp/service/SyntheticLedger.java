@@ -0,0 +1,64 @@
+package com.rain.finapp.service;
+
+import com.rain.finapp.model.Category;
+import com.rain.finapp.model.Transaction;
+import com.rain.finapp.model.TransactionType;
+import com.rain.finapp.model.User;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Deterministic in-memory ledgers for the benchmarks: two years of dates, twelve categories,
+ * roughly one income for every nine expenses.
+ */
+final class SyntheticLedger {
+
+    static final String[] CATEGORIES = {
+            "Groceries", "Rent", "Utilities", "Transport", "Dining", "Health",
+            "Entertainment", "Travel", "Insurance", "Education", "Gifts", "Income"
+    };
+
+    private static final OffsetDateTime END = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final long SPAN_SECONDS = 2L * 365 * 24 * 3600;
+
+    private SyntheticLedger() {
+    }
+
+    static User user() {
+        User user = new User();
+        user.setUserId(UUID.nameUUIDFromBytes("benchmark".getBytes()));
+        user.setUsername("benchmark");
+        return user;
+    }
+
+    static List<Transaction> transactions(User user, int rows) {
+        Category[] categories = new Category[CATEGORIES.length];
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            categories[i] = new Category(user, CATEGORIES[i], null);
+            categories[i].setCategoryId(UUID.nameUUIDFromBytes(CATEGORIES[i].getBytes()));
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        List<Transaction> transactions = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            boolean income = random.nextInt(10) == 0;
+            Transaction transaction = new Transaction();
+            transaction.setTransactionId(new UUID(random.nextLong(), random.nextLong()));
+            transaction.setUser(user);
+            transaction.setType(income ? TransactionType.INCOME : TransactionType.EXPENSE);
+            transaction.setCategory(income ? categories[CATEGORIES.length - 1] : categories[random.nextInt(CATEGORIES.length - 1)]);
+            transaction.setAmount(BigDecimal.valueOf(random.nextLong(1, 500_00), 2));
+            transaction.setTransactionDate(END.minusSeconds(random.nextLong(SPAN_SECONDS)));
+            transaction.setDescription("Synthetic transaction " + i);
+            transaction.setCreatedAt(transaction.getTransactionDate());
+            transaction.setUpdatedAt(transaction.getTransactionDate());
+            transactions.add(transaction);
+        }
+        return transactions;
+    }
+}
@@ -0,0 +1,78 @@
+package com.rain.finapp.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rain.finapp.dto.TransactionResponse;
+import com.rain.finapp.model.Transaction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionServiceBenchmark {
+
+    @Param({"100", "1000"})
+    private int listSize;
+
+    private Transaction transaction;
+    private List<Transaction> transactions;
+    private List<TransactionResponse> responses;
+    private TransactionService.CategoryBudgetInfo budgetInfo;
+
+    // Configured the way Spring Boot configures the MVC ObjectMapper (ISO dates, JSR-310 module)
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        transactions = SyntheticLedger.transactions(SyntheticLedger.user(), listSize);
+        transaction = transactions.get(0);
+        responses = new ArrayList<>(listSize);
+        for (Transaction t : transactions) {
+            responses.add(TransactionService.mapToResponse(t, t.getUser().getUsername()));
+        }
+        budgetInfo = new TransactionService.CategoryBudgetInfo(new BigDecimal("450.00"), new BigDecimal("123.45"));
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public TransactionResponse mapToResponse() {
+        return TransactionService.mapToResponse(transaction, transaction.getUser().getUsername());
+    }
+
+    @Benchmark
+    public List<TransactionResponse> mapListToResponses() {
+        List<TransactionResponse> mapped = new ArrayList<>(transactions.size());
+        for (Transaction t : transactions) {
+            mapped.add(TransactionService.mapToResponse(t, t.getUser().getUsername()));
+        }
+        return mapped;
+    }
+
+    @Benchmark
+    public double percentageUsed() {
+        return budgetInfo.getPercentageUsed();
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+}
@@ -0,0 +1,47 @@
+package com.rain.finapp.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Measured results for one endpoint: latency percentiles in milliseconds, requests per second,
+ * server-side allocation rate in MB/s and the peak number of server platform threads.
+ */
+record EndpointReport(String endpoint,
+                      long requests,
+                      long errors,
+                      double throughput,
+                      double p50Ms,
+                      double p99Ms,
+                      double maxMs,
+                      double allocationMbPerSecond,
+                      int serverThreadsPeak) {
+
+    static EndpointReport of(String endpoint, long[] latenciesNanos, long errors,
+                             double seconds, long allocatedBytes, int serverThreadsPeak) {
+        long[] sorted = latenciesNanos.clone();
+        Arrays.sort(sorted);
+        return new EndpointReport(
+                endpoint,
+                sorted.length,
+                errors,
+                sorted.length / seconds,
+                percentile(sorted, 0.50),
+                percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : millis(sorted[sorted.length - 1]),
+                allocatedBytes / seconds / (1024 * 1024),
+                serverThreadsPeak);
+    }
+
+    // Nearest-rank percentile
+    private static double percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return millis(sorted[Math.max(rank, 1) - 1]);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+}
@@ -0,0 +1,130 @@
+package com.rain.finapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Registers synthetic users and fills their ledgers through the public API, so the data goes
+ * through the same ingest path (validation, rollups, category creation) as production traffic.
+ * Each user gets two years of transactions over twelve categories, half of them budgeted.
+ */
+class LedgerSeeder {
+
+    static final String PASSWORD = "load-test-password";
+
+    private static final String[] CATEGORIES = {
+            "Groceries", "Rent", "Utilities", "Transport", "Dining", "Health",
+            "Entertainment", "Travel", "Insurance", "Education", "Gifts", "Income"
+    };
+
+    private static final OffsetDateTime END = OffsetDateTime.now(ZoneOffset.UTC);
+    private static final long SPAN_SECONDS = 2L * 365 * 24 * 3600;
+
+    // Stays under ingest.max-batch-size
+    private static final int BATCH_SIZE = 5000;
+
+    private final HttpClient client;
+    private final URI baseUri;
+    private final ObjectMapper objectMapper;
+
+    LedgerSeeder(HttpClient client, URI baseUri, ObjectMapper objectMapper) {
+        this.client = client;
+        this.baseUri = baseUri;
+        this.objectMapper = objectMapper;
+    }
+
+    /** Register and seed the users, returning a logged-in session for each */
+    List<Session> seed(int users, int transactionsPerUser) throws IOException, InterruptedException {
+        // Unique per run, so a reused database never collides with an earlier run's users
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        SplittableRandom random = new SplittableRandom(42);
+        List<Session> sessions = new ArrayList<>(users);
+
+        for (int i = 0; i < users; i++) {
+            String username = "loadtest-" + runId + "-" + i;
+            ObjectNode registration = objectMapper.createObjectNode()
+                    .put("username", username)
+                    .put("email", username + "@loadtest.invalid")
+                    .put("password", PASSWORD);
+            send(HttpRequest.newBuilder(baseUri.resolve("/api/register"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(registration.toString())));
+
+            Session session = new Session(username, login(username));
+            for (int offset = 0; offset < transactionsPerUser; offset += BATCH_SIZE) {
+                int rows = Math.min(BATCH_SIZE, transactionsPerUser - offset);
+                send(session.authorize(HttpRequest.newBuilder(baseUri.resolve("/api/transactions/batch")))
+                        .header("Content-Type", "application/x-ndjson")
+                        .POST(HttpRequest.BodyPublishers.ofString(ndjson(random, offset, rows))));
+            }
+            for (int c = 0; c < CATEGORIES.length - 1; c += 2) {
+                send(session.authorize(HttpRequest.newBuilder(baseUri.resolve(
+                                "/api/transactions/category-budget?category=" + CATEGORIES[c] + "&budget=" + (500 + c * 100))))
+                        .POST(HttpRequest.BodyPublishers.noBody()));
+            }
+            sessions.add(session);
+        }
+        return sessions;
+    }
+
+    /** Log in and return the auth cookie as a Cookie header value */
+    String login(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = send(loginRequest(username));
+        return response.headers().firstValue("Set-Cookie")
+                .map(cookie -> cookie.substring(0, cookie.indexOf(';')))
+                .orElseThrow(() -> new IllegalStateException("Login for " + username + " returned no cookie"));
+    }
+
+    HttpRequest.Builder loginRequest(String username) {
+        ObjectNode credentials = objectMapper.createObjectNode()
+                .put("username", username)
+                .put("password", PASSWORD);
+        return HttpRequest.newBuilder(baseUri.resolve("/api/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(credentials.toString()));
+    }
+
+    private String ndjson(SplittableRandom random, int offset, int rows) {
+        StringBuilder body = new StringBuilder(rows * 160);
+        for (int i = 0; i < rows; i++) {
+            boolean income = random.nextInt(10) == 0;
+            ObjectNode row = objectMapper.createObjectNode()
+                    .put("amount", BigDecimal.valueOf(random.nextLong(1, 500_00), 2))
+                    .put("category", income ? "Income" : CATEGORIES[random.nextInt(CATEGORIES.length - 1)])
+                    // Unique descriptions keep the ingest de-duplication from dropping rows
+                    .put("description", "Synthetic transaction " + (offset + i))
+                    .put("type", income ? "INCOME" : "EXPENSE")
+                    .put("transactionDate", END.minusSeconds(random.nextLong(SPAN_SECONDS)).toString());
+            body.append(row).append('\n');
+        }
+        return body.toString();
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " returned " + response.statusCode() + ": " + response.body());
+        }
+        return response;
+    }
+
+    record Session(String username, String cookie) {
+
+        HttpRequest.Builder authorize(HttpRequest.Builder request) {
+            return request.header("Cookie", cookie);
+        }
+    }
+}
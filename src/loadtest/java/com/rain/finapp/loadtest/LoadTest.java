@@ -0,0 +1,242 @@
+package com.rain.finapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rain.finapp.FinappApplication;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * End-to-end load test: boots the application against embedded Postgres (or the database given
+ * by --jdbc-url), seeds users x transactions through the API, then drives each endpoint at a fixed
+ * concurrency for a warmup and a measured window. Reports p50/p99 latency, throughput and the
+ * server's allocation rate per endpoint, printed as a table and written as JSON.
+ *
+ * Run with: mvn -Ploadtest -DskipTests verify -Dloadtest.args="--users=20 --transactions=1000 --concurrency=16"
+ */
+public class LoadTest {
+
+    // Threads owned by the load generator; their allocations are subtracted from the server's
+    private static final String CLIENT_THREAD_PREFIX = "loadtest-";
+    private static final String JDK_CLIENT_THREAD_PREFIX = "HttpClient-";
+
+    private final LoadTestSettings settings;
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    LoadTest(LoadTestSettings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestSettings settings = LoadTestSettings.parse(args);
+        try (EmbeddedPostgres postgres = settings.jdbcUrl() == null ? EmbeddedPostgres.start() : null) {
+            String jdbcUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres") : settings.jdbcUrl();
+            new LoadTest(settings).run(jdbcUrl);
+        }
+    }
+
+    void run(String jdbcUrl) throws Exception {
+        ExecutorService workers = Executors.newFixedThreadPool(settings.concurrency(), named("worker"));
+        ExecutorService clientExecutor = Executors.newFixedThreadPool(settings.concurrency(), named("http"));
+        try (ConfigurableApplicationContext app = boot(jdbcUrl);
+             HttpClient client = HttpClient.newBuilder()
+                     .version(HttpClient.Version.HTTP_1_1)
+                     .executor(clientExecutor)
+                     .connectTimeout(Duration.ofSeconds(10))
+                     .build()) {
+
+            URI baseUri = URI.create("http://localhost:" + ((WebServerApplicationContext) app).getWebServer().getPort());
+            LedgerSeeder seeder = new LedgerSeeder(client, baseUri, objectMapper);
+
+            long seedStart = System.nanoTime();
+            List<LedgerSeeder.Session> sessions = seeder.seed(settings.users(), settings.transactionsPerUser());
+            System.out.printf("Seeded %d users x %d transactions in %.1fs%n", settings.users(),
+                    settings.transactionsPerUser(), (System.nanoTime() - seedStart) / 1e9);
+
+            List<Scenario> scenarios = List.of(
+                    new Scenario("POST /api/login", session -> seeder.loginRequest(session.username()).build()),
+                    get(baseUri, "/api/transactions"),
+                    get(baseUri, "/api/transactions/budget-summary"),
+                    get(baseUri, "/api/transactions/category-budgets"));
+
+            List<EndpointReport> reports = new ArrayList<>();
+            for (Scenario scenario : scenarios) {
+                reports.add(measure(scenario, sessions, client, workers));
+            }
+            report(reports);
+        } finally {
+            workers.shutdownNow();
+            clientExecutor.shutdownNow();
+        }
+    }
+
+    private ConfigurableApplicationContext boot(String jdbcUrl) {
+        // Devtools would otherwise relaunch LoadTest.main in a restart classloader with the arguments below
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        // Command-line arguments outrank application.properties and the environment
+        return new SpringApplicationBuilder(FinappApplication.class).run(
+                "--spring.datasource.url=" + jdbcUrl,
+                "--spring.datasource.username=" + settings.jdbcUsername(),
+                "--spring.datasource.password=" + settings.jdbcPassword(),
+                "--server.port=0",
+                "--spring.threads.virtual.enabled=" + settings.virtualThreads(),
+                // A handful of synthetic users from one IP would otherwise be throttled within seconds
+                "--rate-limit.enabled=false",
+                "--jwt.secret=" + UUID.randomUUID() + UUID.randomUUID(),
+                "--jwt.expiration=" + Duration.ofHours(4).toMillis(),
+                "--spring.security.user.name=loadtest",
+                "--spring.security.user.password=" + UUID.randomUUID(),
+                "--logging.level.root=WARN",
+                "--logging.level.com.rain.finapp=WARN",
+                "--logging.level.org.springframework=WARN",
+                "--logging.level.org.springframework.security=WARN",
+                "--logging.level.org.hibernate=WARN",
+                "--logging.file.name=target/loadtest-app.log");
+    }
+
+    private EndpointReport measure(Scenario scenario, List<LedgerSeeder.Session> sessions,
+                                   HttpClient client, ExecutorService workers) throws Exception {
+        drive(scenario, sessions, client, workers, settings.warmup());
+
+        threads.resetPeakThreadCount();
+        long allocatedBefore = serverAllocatedBytes();
+        long start = System.nanoTime();
+        List<Recorder> recorders = drive(scenario, sessions, client, workers, settings.duration());
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long allocated = serverAllocatedBytes() - allocatedBefore;
+        // Client threads are fixed pools, so the live count stands in for their share of the peak
+        int serverThreadsPeak = threads.getPeakThreadCount() - clientThreadIds().length;
+
+        long errors = recorders.stream().mapToLong(recorder -> recorder.errors).sum();
+        long[] latencies = recorders.stream()
+                .flatMapToLong(recorder -> Arrays.stream(recorder.latencies, 0, recorder.size))
+                .toArray();
+        return EndpointReport.of(scenario.name(), latencies, errors, seconds, allocated, serverThreadsPeak);
+    }
+
+    private List<Recorder> drive(Scenario scenario, List<LedgerSeeder.Session> sessions, HttpClient client,
+                                 ExecutorService workers, Duration window) throws Exception {
+        long deadline = System.nanoTime() + window.toNanos();
+        List<Future<Recorder>> futures = new ArrayList<>();
+        for (int i = 0; i < settings.concurrency(); i++) {
+            futures.add(workers.submit(() -> {
+                Recorder recorder = new Recorder();
+                while (System.nanoTime() < deadline) {
+                    LedgerSeeder.Session session = sessions.get(ThreadLocalRandom.current().nextInt(sessions.size()));
+                    HttpRequest request = scenario.request().apply(session);
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() / 100 == 2) {
+                            recorder.record(System.nanoTime() - start);
+                        } else {
+                            recorder.errors++;
+                        }
+                    } catch (IOException e) {
+                        recorder.errors++;
+                    }
+                }
+                return recorder;
+            }));
+        }
+        List<Recorder> recorders = new ArrayList<>(futures.size());
+        for (Future<Recorder> future : futures) {
+            recorders.add(future.get());
+        }
+        return recorders;
+    }
+
+    // Bytes allocated by every thread in the JVM except the load generator's own
+    private long serverAllocatedBytes() {
+        long clientBytes = Arrays.stream(threads.getThreadAllocatedBytes(clientThreadIds()))
+                .filter(bytes -> bytes > 0)
+                .sum();
+        return threads.getTotalThreadAllocatedBytes() - clientBytes;
+    }
+
+    private static long[] clientThreadIds() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .filter(thread -> thread.getName().startsWith(CLIENT_THREAD_PREFIX)
+                        || thread.getName().startsWith(JDK_CLIENT_THREAD_PREFIX))
+                .mapToLong(Thread::threadId)
+                .toArray();
+    }
+
+    private void report(List<EndpointReport> reports) throws IOException {
+        System.out.printf("%n%-40s %9s %7s %10s %9s %9s %9s %12s %8s%n",
+                "endpoint", "requests", "errors", "req/s", "p50 ms", "p99 ms", "max ms", "alloc MB/s", "threads");
+        for (EndpointReport r : reports) {
+            System.out.printf("%-40s %9d %7d %10.1f %9.2f %9.2f %9.2f %12.1f %8d%n",
+                    r.endpoint(), r.requests(), r.errors(), r.throughput(), r.p50Ms(), r.p99Ms(), r.maxMs(),
+                    r.allocationMbPerSecond(), r.serverThreadsPeak());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("users", settings.users());
+        result.put("transactionsPerUser", settings.transactionsPerUser());
+        result.put("concurrency", settings.concurrency());
+        result.put("virtualThreads", settings.virtualThreads());
+        result.put("warmupSeconds", settings.warmup().toSeconds());
+        result.put("durationSeconds", settings.duration().toSeconds());
+        result.put("endpoints", reports);
+        Files.createDirectories(settings.output().toAbsolutePath().getParent());
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(settings.output().toFile(), result);
+        System.out.println("\nResults written to " + settings.output());
+    }
+
+    private static Scenario get(URI baseUri, String path) {
+        URI uri = baseUri.resolve(path);
+        return new Scenario("GET " + path, session -> session.authorize(HttpRequest.newBuilder(uri)).GET().build());
+    }
+
+    private static ThreadFactory named(String role) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, CLIENT_THREAD_PREFIX + role + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private record Scenario(String name, Function<LedgerSeeder.Session, HttpRequest> request) {
+    }
+
+    // Per-worker latency buffer, merged after the window so recording never contends
+    private static final class Recorder {
+        private long[] latencies = new long[4096];
+        private int size;
+        private long errors;
+
+        void record(long nanos) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+        }
+    }
+}
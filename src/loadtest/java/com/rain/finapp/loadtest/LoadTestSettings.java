@@ -0,0 +1,58 @@
+package com.rain.finapp.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Load-test knobs, read from --key=value arguments (see the loadtest profile in pom.xml).
+ * A jdbc-url points the run at an existing database instead of starting embedded Postgres.
+ */
+record LoadTestSettings(int users,
+                        int transactionsPerUser,
+                        int concurrency,
+                        Duration warmup,
+                        Duration duration,
+                        String jdbcUrl,
+                        String jdbcUsername,
+                        String jdbcPassword,
+                        Path output,
+                        boolean virtualThreads) {
+
+    private static final Set<String> KEYS = Set.of("users", "transactions", "concurrency", "warmup-seconds",
+            "duration-seconds", "jdbc-url", "jdbc-username", "jdbc-password", "output",
+            "virtual-threads");
+
+    static LoadTestSettings parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+            }
+            int separator = arg.indexOf('=');
+            if (!KEYS.contains(arg.substring(2, separator))) {
+                throw new IllegalArgumentException("Unknown option " + arg.substring(0, separator) + ", expected one of " + KEYS);
+            }
+            values.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+
+        LoadTestSettings settings = new LoadTestSettings(
+                Integer.parseInt(values.getOrDefault("users", "20")),
+                Integer.parseInt(values.getOrDefault("transactions", "1000")),
+                Integer.parseInt(values.getOrDefault("concurrency", "16")),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("warmup-seconds", "5"))),
+                Duration.ofSeconds(Long.parseLong(values.getOrDefault("duration-seconds", "20"))),
+                values.get("jdbc-url"),
+                values.getOrDefault("jdbc-username", "postgres"),
+                values.getOrDefault("jdbc-password", "postgres"),
+                Path.of(values.getOrDefault("output", "target/loadtest-result.json")),
+                Boolean.parseBoolean(values.getOrDefault("virtual-threads", "false")));
+
+        if (settings.users() < 1 || settings.concurrency() < 1 || settings.transactionsPerUser() < 0) {
+            throw new IllegalArgumentException("users and concurrency must be positive, transactions must not be negative");
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,391 @@
+package com.rain.finapp.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.flywaydb.core.Flyway;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Measures what monthly partitioning would buy the ledger queries, to decide whether
+ * partitioning/transactions_by_month.sql should become a migration. Migrates the database with Flyway,
+ * applies that script, bulk-loads --rows transactions server-side for --users users over --months months,
+ * copies them into an unpartitioned table with the same indexes, then times the SQL behind
+ * findByUserAndDateRange, findRecentTransactionsByUser and findByTransactionIdAndUser against both.
+ * Reports p50/p99 latency and the partitions each query visits, printed as a table and written as JSON.
+ *
+ * Run with: mvn -Ploadtest -DskipTests verify -Dloadtest.main=com.rain.finapp.loadtest.PartitionBenchmark
+ *           -Dloadtest.args="--rows=50000000 --users=5000 --jdbc-url=jdbc:postgresql://localhost:5432/scratch"
+ * Use a fresh scratch database: the script rebuilds its transactions table, and the seeded users and
+ * transactions are left in place.
+ */
+public class PartitionBenchmark {
+
+    private static final String HEAP_TABLE = "transactions_heap";
+    private static final String PARTITIONING_SCRIPT = "/partitioning/transactions_by_month.sql";
+    private static final int LOAD_CHUNK = 1_000_000;
+    // Partition names as created by create_transactions_partition; index names carry a further suffix
+    private static final Pattern PARTITION_NAME = Pattern.compile("\\btransactions_(\\d{4}_\\d{2}|default)\\b");
+    private static final String[] CATEGORIES = {
+            "Groceries", "Rent", "Utilities", "Transport", "Dining", "Health",
+            "Entertainment", "Travel", "Insurance", "Education", "Gifts", "Income"
+    };
+
+    private final Settings settings;
+    private final SplittableRandom random = new SplittableRandom(42);
+    // Rows returned by the last timed query
+    private long lastRowCount;
+
+    PartitionBenchmark(Settings settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Settings settings = Settings.parse(args);
+        try (EmbeddedPostgres postgres = settings.jdbcUrl() == null ? EmbeddedPostgres.start() : null) {
+            String jdbcUrl = postgres != null ? postgres.getJdbcUrl("postgres", "postgres") : settings.jdbcUrl();
+            new PartitionBenchmark(settings).run(jdbcUrl);
+        }
+    }
+
+    void run(String jdbcUrl) throws Exception {
+        Flyway.configure()
+                .dataSource(jdbcUrl, settings.jdbcUsername(), settings.jdbcPassword())
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load()
+                .migrate();
+
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, settings.jdbcUsername(), settings.jdbcPassword())) {
+            partition(connection);
+
+            Instant end = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+            Instant start = end.atOffset(ZoneOffset.UTC).minusMonths(settings.months()).toInstant();
+
+            long seedStart = System.nanoTime();
+            List<UUID> users = seed(connection, start, end);
+            System.out.printf("Loaded %d transactions for %d users over %d months in %.1fs%n",
+                    settings.rows(), settings.users(), settings.months(), (System.nanoTime() - seedStart) / 1e9);
+
+            long copyStart = System.nanoTime();
+            copyToHeap(connection, users);
+            System.out.printf("Copied them into %s in %.1fs%n", HEAP_TABLE, (System.nanoTime() - copyStart) / 1e9);
+
+            List<List<Object>> transactions = sampleTransactions(connection);
+
+            List<QueryReport> reports = new ArrayList<>();
+            reports.add(measure(connection, "date range (30 days)",
+                    "SELECT * FROM %s WHERE user_id = ? AND transactionDate BETWEEN ? AND ? ORDER BY transactionDate DESC",
+                    () -> {
+                        long offset = random.nextLong(end.getEpochSecond() - start.getEpochSecond() - 30L * 86400);
+                        Instant from = start.plusSeconds(offset);
+                        return List.of(randomUser(users), Timestamp.from(from), Timestamp.from(from.plus(30, ChronoUnit.DAYS)));
+                    }));
+            reports.add(measure(connection, "recent (last 30 days)",
+                    "SELECT * FROM %s WHERE user_id = ? AND transactionDate >= ? ORDER BY transactionDate DESC",
+                    () -> List.of(randomUser(users), Timestamp.from(end.minus(30, ChronoUnit.DAYS)))));
+            // What get/update/delete by id cost: without the date nothing prunes
+            reports.add(measure(connection, "by id",
+                    "SELECT * FROM %s WHERE transactionId = ? AND user_id = ?",
+                    () -> transactions.get(random.nextInt(transactions.size()))));
+            report(reports);
+
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP TABLE " + HEAP_TABLE);
+            }
+        }
+    }
+
+    // Rebuild the migrated transactions table as the partitioned one
+    private static void partition(Connection connection) throws Exception {
+        String script;
+        try (InputStream in = PartitionBenchmark.class.getResourceAsStream(PARTITIONING_SCRIPT)) {
+            if (in == null) {
+                throw new IllegalStateException(PARTITIONING_SCRIPT + " is not on the classpath");
+            }
+            script = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(script);
+        }
+    }
+
+    // Users, their categories and the transactions, all generated inside the database
+    private List<UUID> seed(Connection connection, Instant start, Instant end) throws SQLException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TEMP TABLE bench_users AS SELECT g AS n, gen_random_uuid() AS user_id " +
+                    "FROM generate_series(0, " + (settings.users() - 1) + ") g");
+            statement.execute("INSERT INTO users (userId, username, email, password, created_at) " +
+                    "SELECT user_id, 'bench-" + runId + "-' || n, 'bench-" + runId + "-' || n || '@bench.invalid', 'x', now() " +
+                    "FROM bench_users");
+            statement.execute("CREATE TEMP TABLE bench_categories AS SELECT u.n, c.k - 1 AS k, gen_random_uuid() AS category_id, c.name " +
+                    "FROM bench_users u CROSS JOIN unnest(ARRAY['" + String.join("','", CATEGORIES) + "']) WITH ORDINALITY AS c(name, k)");
+            statement.execute("INSERT INTO categories (categoryId, user_id, name, created_at, updated_at) " +
+                    "SELECT c.category_id, u.user_id, c.name, now(), now() FROM bench_categories c JOIN bench_users u USING (n)");
+            statement.execute("CREATE INDEX ON bench_categories (n, k)");
+        }
+
+        try (PreparedStatement partition = connection.prepareStatement("SELECT create_transactions_partition(?)")) {
+            for (LocalDate month = LocalDate.ofInstant(start, ZoneOffset.UTC).withDayOfMonth(1);
+                 !month.isAfter(LocalDate.ofInstant(end, ZoneOffset.UTC)); month = month.plusMonths(1)) {
+                partition.setObject(1, month);
+                partition.execute();
+            }
+        }
+
+        long span = end.getEpochSecond() - start.getEpochSecond();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO transactions (transactionId, user_id, amount, type, transactionDate, description, " +
+                "created_at, updated_at, category_id) " +
+                "SELECT gen_random_uuid(), u.user_id, round((random() * 500)::numeric, 2), " +
+                "CASE WHEN c.name = 'Income' THEN 'INCOME' ELSE 'EXPENSE' END, d.ts, 'Synthetic transaction ' || d.g, " +
+                "d.ts, d.ts, c.category_id " +
+                "FROM (SELECT g, ?::timestamptz - make_interval(secs => floor(random() * ?)) AS ts " +
+                "      FROM generate_series(?::bigint, ?::bigint) g) d " +
+                "JOIN bench_users u ON u.n = d.g % " + settings.users() + " " +
+                "JOIN bench_categories c ON c.n = u.n AND c.k = (d.g / " + settings.users() + ") % " + CATEGORIES.length)) {
+            for (long from = 0; from < settings.rows(); from += LOAD_CHUNK) {
+                insert.setTimestamp(1, Timestamp.from(end));
+                insert.setLong(2, span);
+                insert.setLong(3, from);
+                insert.setLong(4, Math.min(from + LOAD_CHUNK, settings.rows()) - 1);
+                insert.executeUpdate();
+            }
+        }
+
+        List<UUID> users = new ArrayList<>(settings.users());
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT user_id FROM bench_users ORDER BY n")) {
+            while (rows.next()) {
+                users.add(rows.getObject(1, UUID.class));
+            }
+            statement.execute("ANALYZE transactions");
+        }
+        return users;
+    }
+
+    // Unpartitioned copy with the same columns and index definitions as the partitioned parent
+    private void copyToHeap(Connection connection, List<UUID> users) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS " + HEAP_TABLE);
+            statement.execute("CREATE TABLE " + HEAP_TABLE + " (LIKE transactions INCLUDING ALL EXCLUDING INDEXES)");
+            statement.execute("INSERT INTO " + HEAP_TABLE + " (transactionId, user_id, amount, type, transactionDate, " +
+                    "description, created_at, updated_at, content_hash, category_id) " +
+                    "SELECT transactionId, user_id, amount, type, transactionDate, description, created_at, updated_at, " +
+                    "content_hash, category_id FROM transactions WHERE user_id IN (SELECT user_id FROM bench_users)");
+
+            List<String> definitions = new ArrayList<>();
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT indexname, indexdef FROM pg_indexes WHERE schemaname = current_schema() AND tablename = 'transactions'")) {
+                while (rows.next()) {
+                    definitions.add(rows.getString("indexdef")
+                            .replace(" ON ONLY ", " ON ")
+                            .replace(".transactions ", "." + HEAP_TABLE + " ")
+                            .replace(rows.getString("indexname"), rows.getString("indexname") + "_heap"));
+                }
+            }
+            for (String definition : definitions) {
+                statement.execute(definition);
+            }
+            statement.execute("ANALYZE " + HEAP_TABLE);
+        }
+    }
+
+    // Ids with their owners for the by-id lookups
+    private List<List<Object>> sampleTransactions(Connection connection) throws SQLException {
+        List<List<Object>> transactions = new ArrayList<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("SELECT transactionId, user_id FROM " + HEAP_TABLE +
+                     " ORDER BY random() LIMIT " + (settings.samples() + settings.warmup()))) {
+            while (rows.next()) {
+                transactions.add(List.of(rows.getObject(1, UUID.class), rows.getObject(2, UUID.class)));
+            }
+        }
+        return transactions;
+    }
+
+    private UUID randomUser(List<UUID> users) {
+        return users.get(random.nextInt(users.size()));
+    }
+
+    private QueryReport measure(Connection connection, String name, String sql,
+                                Supplier<List<Object>> parameters) throws SQLException {
+        String partitionedSql = sql.formatted("transactions");
+        String heapSql = sql.formatted(HEAP_TABLE);
+        long[] partitioned = new long[settings.samples()];
+        long[] heap = new long[settings.samples()];
+        long rows = 0;
+
+        try (PreparedStatement partitionedQuery = connection.prepareStatement(partitionedSql);
+             PreparedStatement heapQuery = connection.prepareStatement(heapSql)) {
+            for (int i = -settings.warmup(); i < settings.samples(); i++) {
+                List<Object> values = parameters.get();
+                // Alternate which table goes first, so neither always runs on the cache the other just warmed
+                boolean partitionedFirst = (i & 1) == 0;
+                long first = time(partitionedFirst ? partitionedQuery : heapQuery, values);
+                long second = time(partitionedFirst ? heapQuery : partitionedQuery, values);
+                if (i >= 0) {
+                    partitioned[i] = partitionedFirst ? first : second;
+                    heap[i] = partitionedFirst ? second : first;
+                    rows += lastRowCount;
+                }
+            }
+        }
+
+        return new QueryReport(name, rows / settings.samples(),
+                percentile(heap, 0.50), percentile(heap, 0.99),
+                percentile(partitioned, 0.50), percentile(partitioned, 0.99),
+                partitionsScanned(connection, partitionedSql, parameters.get()));
+    }
+
+    private long time(PreparedStatement query, List<Object> values) throws SQLException {
+        bind(query, values);
+        long start = System.nanoTime();
+        long count = 0;
+        try (ResultSet rows = query.executeQuery()) {
+            while (rows.next()) {
+                count++;
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        lastRowCount = count;
+        return elapsed;
+    }
+
+    // Partitions left in the executed plan after planning- and run-time pruning
+    private static int partitionsScanned(Connection connection, String sql, List<Object> values) throws SQLException {
+        try (PreparedStatement explain = connection.prepareStatement("EXPLAIN (ANALYZE, COSTS OFF, SUMMARY OFF) " + sql)) {
+            bind(explain, values);
+            Set<String> partitions = new HashSet<>();
+            try (ResultSet plan = explain.executeQuery()) {
+                while (plan.next()) {
+                    String line = plan.getString(1);
+                    Matcher partition = PARTITION_NAME.matcher(line);
+                    if (partition.find() && !line.contains("(never executed)")) {
+                        partitions.add(partition.group());
+                    }
+                }
+            }
+            return partitions.size();
+        }
+    }
+
+    private static void bind(PreparedStatement query, List<Object> values) throws SQLException {
+        for (int i = 0; i < values.size(); i++) {
+            query.setObject(i + 1, values.get(i));
+        }
+    }
+
+    private void report(List<QueryReport> reports) throws Exception {
+        System.out.printf("%n%-24s %8s %14s %14s %14s %14s %11s%n",
+                "query", "rows", "heap p50 ms", "heap p99 ms", "part. p50 ms", "part. p99 ms", "partitions");
+        for (QueryReport r : reports) {
+            System.out.printf("%-24s %8d %14.2f %14.2f %14.2f %14.2f %11d%n",
+                    r.query(), r.avgRows(), r.heapP50Ms(), r.heapP99Ms(), r.partitionedP50Ms(), r.partitionedP99Ms(),
+                    r.partitionsScanned());
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("rows", settings.rows());
+        result.put("users", settings.users());
+        result.put("months", settings.months());
+        result.put("samples", settings.samples());
+        result.put("queries", reports);
+        Files.createDirectories(settings.output().toAbsolutePath().getParent());
+        new ObjectMapper().writerWithDefaultPrettyPrinter().writeValue(settings.output().toFile(), result);
+        System.out.println("\nResults written to " + settings.output());
+    }
+
+    // Nearest-rank percentile in milliseconds
+    private static double percentile(long[] nanos, double quantile) {
+        long[] sorted = nanos.clone();
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(rank, 1) - 1] / 1_000_000.0;
+    }
+
+    record QueryReport(String query,
+                       long avgRows,
+                       double heapP50Ms,
+                       double heapP99Ms,
+                       double partitionedP50Ms,
+                       double partitionedP99Ms,
+                       int partitionsScanned) {
+    }
+
+    /**
+     * Benchmark knobs, read from --key=value arguments like LoadTestSettings
+     */
+    record Settings(long rows,
+                    int users,
+                    int months,
+                    int samples,
+                    int warmup,
+                    String jdbcUrl,
+                    String jdbcUsername,
+                    String jdbcPassword,
+                    Path output) {
+
+        private static final Set<String> KEYS = Set.of("rows", "users", "months", "samples", "warmup",
+                "jdbc-url", "jdbc-username", "jdbc-password", "output");
+
+        static Settings parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--") || !arg.contains("=")) {
+                    throw new IllegalArgumentException("Expected --key=value but got: " + arg);
+                }
+                int separator = arg.indexOf('=');
+                if (!KEYS.contains(arg.substring(2, separator))) {
+                    throw new IllegalArgumentException("Unknown option " + arg.substring(0, separator) + ", expected one of " + KEYS);
+                }
+                values.put(arg.substring(2, separator), arg.substring(separator + 1));
+            }
+
+            Settings settings = new Settings(
+                    Long.parseLong(values.getOrDefault("rows", "1000000")),
+                    Integer.parseInt(values.getOrDefault("users", "1000")),
+                    Integer.parseInt(values.getOrDefault("months", "36")),
+                    Integer.parseInt(values.getOrDefault("samples", "500")),
+                    Integer.parseInt(values.getOrDefault("warmup", "100")),
+                    values.get("jdbc-url"),
+                    values.getOrDefault("jdbc-username", "postgres"),
+                    values.getOrDefault("jdbc-password", "postgres"),
+                    Path.of(values.getOrDefault("output", "target/partition-benchmark-result.json")));
+
+            if (settings.rows() < 1 || settings.users() < 1 || settings.months() < 2 || settings.samples() < 1) {
+                throw new IllegalArgumentException("rows, users and samples must be positive and months at least 2");
+            }
+            return settings;
+        }
+    }
+}
@@ -0,0 +1,108 @@
+-- Range-partition transactions by calendar month (UTC) of transactionDate, the same months the rollups use.
+-- Every listing filters by user and date, so a date-bounded query only visits the partitions for its months.
+-- Rows dated outside every monthly partition land in transactions_default instead of failing.
+--
+-- Not a migration: PartitionBenchmark applies it to a scratch database to measure what partitioning buys.
+-- It is held back from db/migration until a benchmark at production scale shows a win, and until:
+--   * the rebuild no longer runs in one transaction under an ACCESS EXCLUSIVE lock (copy in batches and
+--     attach the old table as a partition instead);
+--   * lookups by id carry the transaction date, or go through an id-to-date lookup table, so they prune;
+--     with the primary key on (transactionId, transactionDate), findByTransactionIdAndUser and Hibernate's
+--     UPDATE/DELETE ... WHERE transactionId = ? probe every partition (see the "by id" benchmark row).
+
+-- Create the partition for one month, moving any rows for that month out of the default partition first.
+-- Returns false if the partition already exists.
+CREATE OR REPLACE FUNCTION create_transactions_partition(month_start date) RETURNS boolean
+LANGUAGE plpgsql AS $$
+DECLARE
+    first_day      date        := date_trunc('month', month_start)::date;
+    partition_name text        := 'transactions_' || to_char(first_day, 'YYYY_MM');
+    lower_bound    timestamptz := first_day::timestamp AT TIME ZONE 'UTC';
+    upper_bound    timestamptz := (first_day + interval '1 month')::timestamp AT TIME ZONE 'UTC';
+    column_list    text;
+BEGIN
+    IF to_regclass(partition_name) IS NOT NULL THEN
+        RETURN false;
+    END IF;
+
+    IF EXISTS (SELECT 1 FROM transactions_default
+               WHERE transactionDate >= lower_bound AND transactionDate < upper_bound) THEN
+        -- A new partition may not overlap rows in the default, so detach it while they move across.
+        -- Generated columns are recomputed on insert and cannot be copied.
+        SELECT string_agg(quote_ident(attname), ', ' ORDER BY attnum) INTO column_list
+        FROM pg_attribute
+        WHERE attrelid = 'transactions'::regclass AND attnum > 0 AND NOT attisdropped AND attgenerated = '';
+
+        ALTER TABLE transactions DETACH PARTITION transactions_default;
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, lower_bound, upper_bound);
+        EXECUTE format('INSERT INTO transactions (%s) SELECT %s FROM transactions_default ' ||
+                       'WHERE transactionDate >= $1 AND transactionDate < $2', column_list, column_list)
+            USING lower_bound, upper_bound;
+        DELETE FROM transactions_default WHERE transactionDate >= lower_bound AND transactionDate < upper_bound;
+        ALTER TABLE transactions ATTACH PARTITION transactions_default DEFAULT;
+    ELSE
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       partition_name, lower_bound, upper_bound);
+    END IF;
+    RETURN true;
+END $$;
+
+ALTER TABLE transactions RENAME TO transactions_unpartitioned;
+
+-- Same columns as before. Keys and indexes are added after the copy, once the old table and its
+-- index names are gone; the primary key has to include the partition key.
+CREATE TABLE transactions (
+    transactionId    uuid           NOT NULL,
+    user_id          uuid           NOT NULL,
+    amount           numeric(19, 2) NOT NULL,
+    type             varchar(20),
+    transactionDate  timestamptz    NOT NULL,
+    description      varchar(500),
+    created_at       timestamptz    NOT NULL,
+    updated_at       timestamptz,
+    content_hash     varchar(64),
+    description_tsv  tsvector GENERATED ALWAYS AS (to_tsvector('english', COALESCE(description, ''))) STORED,
+    category_id      uuid           NOT NULL,
+    CONSTRAINT fk_transactions_user FOREIGN KEY (user_id) REFERENCES users (userId),
+    CONSTRAINT fk_transactions_category FOREIGN KEY (category_id) REFERENCES categories (categoryId),
+    CONSTRAINT transactions_type_check CHECK (type IN ('INCOME', 'EXPENSE'))
+) PARTITION BY RANGE (transactionDate);
+
+CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+-- One partition per month from the oldest transaction (at most ten years back) to three months ahead;
+-- TransactionPartitionJob keeps creating the months ahead from here on
+DO $$
+DECLARE
+    month_start date;
+    last_month  date := (date_trunc('month', now() AT TIME ZONE 'UTC') + interval '3 months')::date;
+BEGIN
+    SELECT GREATEST(
+               COALESCE(date_trunc('month', min(transactionDate) AT TIME ZONE 'UTC'), date_trunc('month', now() AT TIME ZONE 'UTC')),
+               date_trunc('month', now() AT TIME ZONE 'UTC') - interval '10 years')::date
+    INTO month_start
+    FROM transactions_unpartitioned;
+
+    WHILE month_start <= last_month LOOP
+        PERFORM create_transactions_partition(month_start);
+        month_start := (month_start + interval '1 month')::date;
+    END LOOP;
+END $$;
+
+INSERT INTO transactions (transactionId, user_id, amount, type, transactionDate, description,
+                          created_at, updated_at, content_hash, category_id)
+SELECT transactionId, user_id, amount, type, transactionDate, description,
+       created_at, updated_at, content_hash, category_id
+FROM transactions_unpartitioned;
+
+DROP TABLE transactions_unpartitioned;
+
+-- Indexes on the parent are created on every partition, including ones added later
+ALTER TABLE transactions ADD CONSTRAINT transactions_pkey PRIMARY KEY (transactionId, transactionDate);
+CREATE INDEX idx_transactions_user_content_hash ON transactions (user_id, content_hash);
+CREATE INDEX idx_transactions_user_date_id ON transactions (user_id, transactionDate DESC, transactionId DESC);
+CREATE INDEX idx_transactions_user_category_id_date ON transactions (user_id, category_id, transactionDate DESC);
+CREATE INDEX idx_transactions_description_tsv ON transactions USING GIN (description_tsv);
+
+ANALYZE transactions;
@@ -0,0 +1,61 @@
+package com.rain.finapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "refresh-token")
+public class AuthConfig {
+
+    private String cookieName = "refresh-token";
+    // Sent only to /api, where /api/refresh and /api/logout live
+    private String cookiePath = "/api";
+    private int purgeBatchSize = 1000;
+    private long cacheMaxSize = 10000;
+    // How long a just-rotated token can still renew the access token (but not the refresh token) instead
+    // of counting as a replay, so tabs that refresh at the same moment with the same cookie are not logged out
+    private Duration reuseGrace = Duration.ofSeconds(30);
+
+    // Getters and setters
+    public String getCookieName() {
+        return cookieName;
+    }
+
+    public void setCookieName(String cookieName) {
+        this.cookieName = cookieName;
+    }
+
+    public String getCookiePath() {
+        return cookiePath;
+    }
+
+    public void setCookiePath(String cookiePath) {
+        this.cookiePath = cookiePath;
+    }
+
+    public int getPurgeBatchSize() {
+        return purgeBatchSize;
+    }
+
+    public void setPurgeBatchSize(int purgeBatchSize) {
+        this.purgeBatchSize = purgeBatchSize;
+    }
+
+    public long getCacheMaxSize() {
+        return cacheMaxSize;
+    }
+
+    public void setCacheMaxSize(long cacheMaxSize) {
+        this.cacheMaxSize = cacheMaxSize;
+    }
+
+    public Duration getReuseGrace() {
+        return reuseGrace;
+    }
+
+    public void setReuseGrace(Duration reuseGrace) {
+        this.reuseGrace = reuseGrace;
+    }
+}
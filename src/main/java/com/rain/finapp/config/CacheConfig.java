@@ -0,0 +1,28 @@
+package com.rain.finapp.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+@Configuration
+// Outermost advice, so a cache hit returns before a database transaction is opened
+@EnableCaching(order = Ordered.HIGHEST_PRECEDENCE)
+public class CacheConfig {
+
+    public static final String USERS = "users";
+    public static final String CATEGORIES = "categories";
+
+    /**
+     * The principal cache gets its own, shorter expiry than the shared spring.cache.caffeine.spec
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> usersCacheCustomizer(
+            @Value("${cache.users.spec:maximumSize=10000,expireAfterWrite=300s}") String spec) {
+        return cacheManager -> cacheManager.registerCustomCache(USERS, Caffeine.from(spec).recordStats().build());
+    }
+}
@@ -0,0 +1,50 @@
+package com.rain.finapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.backpressure.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceConfig {
+
+    /**
+     * Wraps the Hikari pool so that at most pool size + max-waiting callers are inside it at once
+     */
+    @Bean
+    public static BeanPostProcessor connectionLimitingPostProcessor(
+            @Value("${datasource.backpressure.max-waiting:200}") int maxWaiting,
+            @Value("${datasource.backpressure.acquire-timeout:5s}") Duration acquireTimeout) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    return new ConnectionLimitingDataSource(hikari, hikari.getMaximumPoolSize() + maxWaiting, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    // Looks at every DataSource bean: with read replicas enabled the primary one is the routing proxy,
+    // and the wrapped pool is the primaryDataSource bean (ReplicaRoutingConfig)
+    @Bean
+    public MeterBinder connectionLimitingMetrics(ObjectProvider<DataSource> dataSources) {
+        return registry -> dataSources.orderedStream()
+                .filter(ConnectionLimitingDataSource.class::isInstance)
+                .map(ConnectionLimitingDataSource.class::cast)
+                .findFirst()
+                .ifPresent(limited -> Gauge.builder("finapp.datasource.waiting", limited, ConnectionLimitingDataSource::getWaiting)
+                        .description("Callers waiting for admission to the connection pool")
+                        .register(registry));
+    }
+}
@@ -0,0 +1,36 @@
+package com.rain.finapp.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Adds the rows-returned interceptor to every Spring Data repository proxy.
+     * Static so it can post-process the repository factory beans; the registry is resolved lazily.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryRowsPostProcessor(
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${metrics.repository.rows.log-threshold:5000}") int logThreshold) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addRepositoryProxyPostProcessor(
+                            (proxyFactory, repositoryInformation) -> proxyFactory.addAdvice(new RepositoryRowsInterceptor(
+                                    meterRegistry.getObject(),
+                                    repositoryInformation.getRepositoryInterface().getSimpleName(),
+                                    logThreshold))));
+                }
+                return bean;
+            }
+        };
+    }
+}
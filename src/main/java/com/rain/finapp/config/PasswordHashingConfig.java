@@ -0,0 +1,57 @@
+package com.rain.finapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "password-hashing")
+public class PasswordHashingConfig {
+
+    // BCrypt cost factor; stored hashes with a different cost are rehashed on the next login
+    private int strength = 10;
+    // Threads doing BCrypt work; 0 means half the available processors
+    private int poolSize = 0;
+    // Hashes allowed to wait for a thread before new ones are rejected
+    private int queueCapacity = 50;
+    // Longest a request waits for its hash, queueing included
+    private Duration timeout = Duration.ofSeconds(3);
+
+    public int resolvePoolSize() {
+        return poolSize > 0 ? poolSize : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+
+    // Getters and setters
+    public int getStrength() {
+        return strength;
+    }
+
+    public void setStrength(int strength) {
+        this.strength = strength;
+    }
+
+    public int getPoolSize() {
+        return poolSize;
+    }
+
+    public void setPoolSize(int poolSize) {
+        this.poolSize = poolSize;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
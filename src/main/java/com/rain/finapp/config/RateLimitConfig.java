@@ -0,0 +1,92 @@
+package com.rain.finapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "rate-limit")
+public class RateLimitConfig {
+
+    private boolean enabled = true;
+    // Every request except page and static asset GETs, per client IP
+    private Limit global = new Limit(100, 100, 60);
+    // Login, registration and token refresh, per client IP
+    private Limit auth = new Limit(10, 10, 60);
+    // Authenticated /api requests, per user
+    private Limit api = new Limit(60, 60, 60);
+
+    /**
+     * A bucket of capacity tokens, refilled with refillTokens every refillDuration seconds
+     */
+    public static class Limit {
+        private long capacity;
+        private long refillTokens;
+        private long refillDuration;
+
+        public Limit() {
+        }
+
+        public Limit(long capacity, long refillTokens, long refillDuration) {
+            this.capacity = capacity;
+            this.refillTokens = refillTokens;
+            this.refillDuration = refillDuration;
+        }
+
+        public long getCapacity() {
+            return capacity;
+        }
+
+        public void setCapacity(long capacity) {
+            this.capacity = capacity;
+        }
+
+        public long getRefillTokens() {
+            return refillTokens;
+        }
+
+        public void setRefillTokens(long refillTokens) {
+            this.refillTokens = refillTokens;
+        }
+
+        public long getRefillDuration() {
+            return refillDuration;
+        }
+
+        public void setRefillDuration(long refillDuration) {
+            this.refillDuration = refillDuration;
+        }
+    }
+
+    // Getters and setters
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Limit getGlobal() {
+        return global;
+    }
+
+    public void setGlobal(Limit global) {
+        this.global = global;
+    }
+
+    public Limit getAuth() {
+        return auth;
+    }
+
+    public void setAuth(Limit auth) {
+        this.auth = auth;
+    }
+
+    public Limit getApi() {
+        return api;
+    }
+
+    public void setApi(Limit api) {
+        this.api = api;
+    }
+}
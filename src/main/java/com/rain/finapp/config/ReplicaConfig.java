@@ -0,0 +1,74 @@
+package com.rain.finapp.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "datasource.replica")
+public class ReplicaConfig {
+
+    // JDBC URLs of the read replicas; read-only transactions are spread over them round-robin
+    private List<String> urls = new ArrayList<>();
+    // Blank means the primary's credentials, as for a streaming replica
+    private String username;
+    private String password;
+    // Pool size per replica; 0 means the same as the primary pool
+    private int maximumPoolSize = 0;
+    // How long a user keeps reading from the primary after a read-write transaction, to cover replica lag
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+    // Users tracked for read-your-writes at once; the least recent are dropped beyond this
+    private long trackedSessions = 10000;
+
+    // Getters and setters
+    public List<String> getUrls() {
+        return urls;
+    }
+
+    public void setUrls(List<String> urls) {
+        this.urls = urls;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getPassword() {
+        return password;
+    }
+
+    public void setPassword(String password) {
+        this.password = password;
+    }
+
+    public int getMaximumPoolSize() {
+        return maximumPoolSize;
+    }
+
+    public void setMaximumPoolSize(int maximumPoolSize) {
+        this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public Duration getReadYourWritesWindow() {
+        return readYourWritesWindow;
+    }
+
+    public void setReadYourWritesWindow(Duration readYourWritesWindow) {
+        this.readYourWritesWindow = readYourWritesWindow;
+    }
+
+    public long getTrackedSessions() {
+        return trackedSessions;
+    }
+
+    public void setTrackedSessions(long trackedSessions) {
+        this.trackedSessions = trackedSessions;
+    }
+}
@@ -0,0 +1,112 @@
+package com.rain.finapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+@ConditionalOnProperty(name = "datasource.replica.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+    /**
+     * The primary pool, built from spring.datasource.* the way Boot builds the default one.
+     * Still a HikariDataSource bean, so the backpressure post-processor and the Hikari metrics apply to it.
+     */
+    @Bean
+    public DataSource primaryDataSource(DataSourceProperties properties, Environment environment) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(primary));
+        return primary;
+    }
+
+    /**
+     * One pool per replica URL with the primary's Hikari settings, named after the primary pool
+     * with a -replica-N suffix so the hikaricp metrics are reported per target
+     */
+    @Bean
+    public ReplicaRoutingDataSource replicaRoutingDataSource(
+            @Qualifier("primaryDataSource") DataSource primary,
+            ReplicaConfig replicaConfig,
+            DataSourceProperties properties,
+            Environment environment,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.backpressure.enabled:true}") boolean backpressure,
+            @Value("${datasource.backpressure.max-waiting:200}") int maxWaiting,
+            @Value("${datasource.backpressure.acquire-timeout:5s}") Duration acquireTimeout) throws SQLException {
+        List<String> urls = replicaConfig.getUrls().stream().filter(StringUtils::hasText).toList();
+        if (urls.isEmpty()) {
+            throw new IllegalStateException("datasource.replica.enabled is set but datasource.replica.urls is empty");
+        }
+
+        String primaryPoolName = primary.unwrap(HikariDataSource.class).getPoolName();
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (int i = 0; i < urls.size(); i++) {
+            HikariDataSource replica = new HikariDataSource();
+            Binder.get(environment).bind(HIKARI_PREFIX, Bindable.ofInstance(replica));
+            replica.setPoolName(primaryPoolName + "-replica-" + (i + 1));
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setJdbcUrl(urls.get(i));
+            replica.setUsername(StringUtils.hasText(replicaConfig.getUsername())
+                    ? replicaConfig.getUsername() : properties.determineUsername());
+            replica.setPassword(StringUtils.hasText(replicaConfig.getPassword())
+                    ? replicaConfig.getPassword() : properties.determinePassword());
+            if (replicaConfig.getMaximumPoolSize() > 0) {
+                replica.setMaximumPoolSize(replicaConfig.getMaximumPoolSize());
+            }
+            replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+            if (backpressure) {
+                ConnectionLimitingDataSource limited = new ConnectionLimitingDataSource(
+                        replica, replica.getMaximumPoolSize() + maxWaiting, acquireTimeout);
+                Gauge.builder("finapp.datasource.replica.waiting", limited, ConnectionLimitingDataSource::getWaiting)
+                        .description("Callers waiting for admission to a replica connection pool")
+                        .tag("pool", replica.getPoolName())
+                        .register(meterRegistry);
+                replicas.put(replica.getPoolName(), limited);
+            } else {
+                replicas.put(replica.getPoolName(), replica);
+            }
+        }
+
+        return new ReplicaRoutingDataSource(primary, replicas, replicaConfig.getReadYourWritesWindow(),
+                replicaConfig.getTrackedSessions(), meterRegistry);
+    }
+
+    /**
+     * The DataSource everything else uses. Connections are fetched lazily, so routing sees the
+     * read-only flag the transaction manager sets after it asks for the connection.
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") DataSource primary,
+                                 ReplicaRoutingDataSource replicaRoutingDataSource) throws SQLException {
+        LazyConnectionDataSourceProxy proxy = new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+        // Known up front, so Hibernate asking for them does not fetch a connection before routing can decide
+        proxy.setDefaultAutoCommit(primary.unwrap(HikariDataSource.class).isAutoCommit());
+        proxy.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+        return proxy;
+    }
+}
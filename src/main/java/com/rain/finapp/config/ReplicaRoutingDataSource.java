@@ -0,0 +1,125 @@
+package com.rain.finapp.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to the replicas, round-robin, and everything else to the primary.
+ * A user whose last read-write transaction is within the read-your-writes window reads from the primary
+ * too, so a list reloaded right after a save never comes from a replica that has not caught up yet.
+ * Must sit behind a LazyConnectionDataSourceProxy: the target is chosen when the first statement runs,
+ * by which time the transaction's read-only flag is known.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final Map<String, DataSource> replicas;
+    private final List<String> replicaKeys;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    // Usernames whose last read-write transaction ended within the window
+    private final Cache<String, Boolean> recentWriters;
+
+    private final Map<String, Counter> routedCounters = new HashMap<>();
+    private final Counter readYourWritesCounter;
+
+    public ReplicaRoutingDataSource(DataSource primary, Map<String, DataSource> replicas,
+                                    Duration readYourWritesWindow, long trackedSessions, MeterRegistry meterRegistry) {
+        this.replicas = replicas;
+        this.replicaKeys = List.copyOf(replicas.keySet());
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(trackedSessions)
+                .expireAfterWrite(readYourWritesWindow)
+                .build();
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+
+        for (Object key : targets.keySet()) {
+            routedCounters.put((String) key, Counter.builder("finapp.datasource.routed")
+                    .description("Connections handed out, by target pool")
+                    .tag("target", (String) key)
+                    .register(meterRegistry));
+        }
+        this.readYourWritesCounter = Counter.builder("finapp.datasource.read.your.writes")
+                .description("Read-only transactions sent to the primary because the user wrote just before")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String key = route();
+        routedCounters.get(key).increment();
+        return key;
+    }
+
+    private String route() {
+        // Outside a transaction (Flyway, schema validation, plain JdbcTemplate calls) nothing says it is a read
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return PRIMARY;
+        }
+
+        String username = currentUsername();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (username != null) {
+                recordWrite(username);
+            }
+            return PRIMARY;
+        }
+        if (username != null && recentWriters.getIfPresent(username) != null) {
+            readYourWritesCounter.increment();
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    // Marked when the transaction starts so concurrent reads already go to the primary, and again when it
+    // ends so the window covers replication of the commit
+    private void recordWrite(String username) {
+        recentWriters.put(username, Boolean.TRUE);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    recentWriters.put(username, Boolean.TRUE);
+                }
+            });
+        }
+    }
+
+    private static String currentUsername() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth == null || !auth.isAuthenticated() || auth instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return auth.getName();
+    }
+
+    /** Close the replica pools, which are not beans of their own */
+    @Override
+    public void close() throws SQLException {
+        for (DataSource replica : replicas.values()) {
+            replica.unwrap(HikariDataSource.class).close();
+        }
+    }
+}
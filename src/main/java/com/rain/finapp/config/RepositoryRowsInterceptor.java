@@ -0,0 +1,97 @@
+package com.rain.finapp.config;
+
+import com.rain.finapp.dto.AuthenticatedUser;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Slice;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Records how many rows each repository method hands back, tagged by repository, method and the
+ * endpoint being served. User ids would explode the metric's cardinality, so results above the
+ * log threshold are logged with the user instead.
+ */
+class RepositoryRowsInterceptor implements MethodInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(RepositoryRowsInterceptor.class);
+
+    static final String METRIC = "finapp.repository.rows";
+
+    private final MeterRegistry meterRegistry;
+    private final String repository;
+    private final int logThreshold;
+
+    RepositoryRowsInterceptor(MeterRegistry meterRegistry, String repository, int logThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.repository = repository;
+        this.logThreshold = logThreshold;
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        Object result = invocation.proceed();
+        int rows = rows(result);
+        if (rows < 0) {
+            return result;
+        }
+
+        String method = invocation.getMethod().getName();
+        String uri = currentUri();
+        DistributionSummary.builder(METRIC)
+                .description("Rows returned per repository call")
+                .baseUnit("rows")
+                .tags("repository", repository, "method", method, "uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(rows);
+
+        if (logThreshold > 0 && rows >= logThreshold) {
+            logger.info("{}.{} returned {} rows for user {} on {}", repository, method, rows, currentUserId(), uri);
+        }
+        return result;
+    }
+
+    // Row count of a query result, or -1 for scalars, streams and void methods
+    private static int rows(Object result) {
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    // Matched handler pattern (e.g. /api/transactions/{id}), or "none" outside a web request
+    private static String currentUri() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        Object pattern = attributes != null
+                ? attributes.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                : null;
+        return pattern != null ? pattern.toString() : "none";
+    }
+
+    private static Object currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? user.getUserId()
+                : "none";
+    }
+}
@@ -1,6 +1,7 @@
 package com.rain.finapp.config;
 
 import com.rain.finapp.filter.JwtFilter;
+import com.rain.finapp.filter.RateLimitFilter;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -14,9 +15,11 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 public class SecurityConfig {
     
     private final JwtFilter jwtFilter;
+    private final RateLimitFilter rateLimitFilter;
     
-    public SecurityConfig(JwtFilter jwtFilter) {
+    public SecurityConfig(JwtFilter jwtFilter, RateLimitFilter rateLimitFilter) {
         this.jwtFilter = jwtFilter;
+        this.rateLimitFilter = rateLimitFilter;
     }
 
     @Bean
@@ -26,7 +29,7 @@ public class SecurityConfig {
                 .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(
-                    "/api/login", "/api/register", "/api/budget-summary",
+                    "/api/login", "/api/register", "/api/refresh", "/api/logout", "/api/budget-summary",
                     "/test-users", "/test-user-count", "/test-users/user-name", "/test-users/{userId}",
                     "/register.html", "/login.html", "/debug.html",
                     "/", "/index.html", "/home", "/landing", "/login", "/register", 
@@ -36,7 +39,9 @@ public class SecurityConfig {
                 .requestMatchers("/api/me", "/api/transactions/**").authenticated()
                 .anyRequest().authenticated()
             )
-            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+            // Throttle before any token work is done
+            .addFilterBefore(rateLimitFilter, JwtFilter.class);
         return http.build();
     }
 }
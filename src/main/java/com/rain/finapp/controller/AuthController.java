@@ -1,25 +1,37 @@
 package com.rain.finapp.controller;
 
+import com.rain.finapp.config.AuthConfig;
 import com.rain.finapp.config.CookieConfig;
 import com.rain.finapp.service.AuthService;
+import com.rain.finapp.service.PasswordHashingService;
+import com.rain.finapp.service.RefreshTokenService;
 import com.rain.finapp.dto.RegisterRequest;
 import com.rain.finapp.dto.LoginRequest;
 import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.util.WebUtils;
+
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api")
 public class AuthController {
     private final AuthService authService;
     private final CookieConfig cookieConfig;
+    private final AuthConfig authConfig;
+    private final RefreshTokenService refreshTokenService;
 
-    public AuthController(AuthService authService, CookieConfig cookieConfig) {
+    public AuthController(AuthService authService, CookieConfig cookieConfig, AuthConfig authConfig,
+                          RefreshTokenService refreshTokenService) {
         this.authService = authService;
         this.cookieConfig = cookieConfig;
+        this.authConfig = authConfig;
+        this.refreshTokenService = refreshTokenService;
     }
 
     @PostMapping("/register")
@@ -28,6 +40,8 @@ public class AuthController {
             // Call the service to register the user
             authService.register(request.getUsername(), request.getEmail(), request.getPassword());
             return ResponseEntity.ok("Registration successful");
+        } catch (PasswordHashingService.BusyException e) {
+            throw e;
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Account with this email or username already exists");
         }
@@ -36,40 +50,64 @@ public class AuthController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@Valid @RequestBody LoginRequest request, HttpServletResponse response) {
         // Call the service to authenticate the user
-        String token = authService.login(request.getUsername(), request.getPassword());
-        if (token != null) {
-            // Create secure HTTP-only cookie with JWT
-            Cookie authCookie = new Cookie(cookieConfig.getName(), token);
-            authCookie.setHttpOnly(cookieConfig.isHttpOnly());
-            authCookie.setSecure(cookieConfig.isSecure());
-            authCookie.setMaxAge((int) cookieConfig.getMaxAge());
-            authCookie.setPath(cookieConfig.getPath());
-            // Note: SameSite is set via response header as it's not directly supported in Cookie class
-            response.addCookie(authCookie);
-            response.setHeader("Set-Cookie", 
-                String.format("%s=%s; Path=%s; Max-Age=%d; HttpOnly; SameSite=%s%s",
-                    cookieConfig.getName(), token, cookieConfig.getPath(), 
-                    cookieConfig.getMaxAge(), cookieConfig.getSameSite(),
-                    cookieConfig.isSecure() ? "; Secure" : ""));
-            
+        AuthService.Tokens tokens = authService.login(request.getUsername(), request.getPassword());
+        if (tokens != null) {
+            setAuthCookies(response, tokens);
             return ResponseEntity.ok().body(new AuthResponse("Login successful"));
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
         }
     }
-    
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refresh(HttpServletRequest request, HttpServletResponse response) {
+        // Exchange the refresh cookie for a new access token and a rotated refresh token
+        Cookie refreshCookie = WebUtils.getCookie(request, authConfig.getCookieName());
+        if (refreshCookie != null && !refreshCookie.getValue().isEmpty()) {
+            var tokens = authService.refresh(refreshCookie.getValue());
+            if (tokens.isPresent()) {
+                setAuthCookies(response, tokens.get());
+                return ResponseEntity.ok().body(new AuthResponse("Token refreshed"));
+            }
+        }
+        clearAuthCookies(response);
+        return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(Map.of("error", "Session expired, please log in again"));
+    }
+
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletResponse response) {
-        // Clear the auth cookie
-        Cookie clearCookie = new Cookie(cookieConfig.getName(), "");
-        clearCookie.setMaxAge(0);
-        clearCookie.setPath(cookieConfig.getPath());
-        clearCookie.setHttpOnly(true);
-        response.addCookie(clearCookie);
-        
+    public ResponseEntity<?> logout(HttpServletRequest request, HttpServletResponse response) {
+        // Revoke the refresh token so it cannot outlive the session, then clear both cookies
+        Cookie refreshCookie = WebUtils.getCookie(request, authConfig.getCookieName());
+        if (refreshCookie != null && !refreshCookie.getValue().isEmpty()) {
+            authService.logout(refreshCookie.getValue());
+        }
+        clearAuthCookies(response);
+
         return ResponseEntity.ok().body("Logout successful");
     }
-    
+
+    private void setAuthCookies(HttpServletResponse response, AuthService.Tokens tokens) {
+        addCookie(response, cookieConfig.getName(), tokens.accessToken(), cookieConfig.getPath(), cookieConfig.getMaxAge());
+        // A refresh that lost the race to a concurrent one leaves the refresh cookie that one set
+        if (tokens.refreshToken() != null) {
+            addCookie(response, authConfig.getCookieName(), tokens.refreshToken(), authConfig.getCookiePath(),
+                    refreshTokenService.getRefreshExpiration().toSeconds());
+        }
+    }
+
+    private void clearAuthCookies(HttpServletResponse response) {
+        addCookie(response, cookieConfig.getName(), "", cookieConfig.getPath(), 0);
+        addCookie(response, authConfig.getCookieName(), "", authConfig.getCookiePath(), 0);
+    }
+
+    // SameSite is not supported by the Cookie class, so the header is written directly
+    private void addCookie(HttpServletResponse response, String name, String value, String path, long maxAge) {
+        response.addHeader("Set-Cookie",
+            String.format("%s=%s; Path=%s; Max-Age=%d; HttpOnly; SameSite=%s%s",
+                name, value, path, maxAge, cookieConfig.getSameSite(),
+                cookieConfig.isSecure() ? "; Secure" : ""));
+    }
+
     public static class AuthResponse {
         private String message;
         
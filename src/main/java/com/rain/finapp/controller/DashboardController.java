@@ -0,0 +1,44 @@
+package com.rain.finapp.controller;
+
+import com.rain.finapp.dto.AuthenticatedUser;
+import com.rain.finapp.dto.DashboardResponse;
+import com.rain.finapp.service.DashboardService;
+import com.rain.finapp.service.LedgerVersions;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/dashboard")
+public class DashboardController {
+
+    private final DashboardService dashboardService;
+    private final LedgerVersions ledgerVersions;
+
+    public DashboardController(DashboardService dashboardService, LedgerVersions ledgerVersions) {
+        this.dashboardService = dashboardService;
+        this.ledgerVersions = ledgerVersions;
+    }
+
+    /**
+     * Get everything the dashboard shows on load in one response
+     * GET /api/dashboard
+     * Conditional on the ledger version, like GET /api/transactions
+     */
+    @GetMapping
+    public ResponseEntity<DashboardResponse> getDashboard(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                          WebRequest webRequest) {
+        UUID userId = principal.getUserId();
+        String etag = ledgerVersions.etag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        DashboardResponse dashboard = dashboardService.getDashboard(userId);
+        return ResponseEntity.ok().cacheControl(LedgerVersions.CACHE_CONTROL).eTag(etag).body(dashboard);
+    }
+}
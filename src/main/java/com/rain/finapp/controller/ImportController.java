@@ -0,0 +1,83 @@
+package com.rain.finapp.controller;
+
+import com.rain.finapp.dto.AuthenticatedUser;
+import com.rain.finapp.dto.ImportJobStatus;
+import com.rain.finapp.service.TransactionImportService;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/transactions/import")
+public class ImportController {
+
+    private final TransactionImportService transactionImportService;
+
+    public ImportController(TransactionImportService transactionImportService) {
+        this.transactionImportService = transactionImportService;
+    }
+
+    /**
+     * Upload a CSV or OFX/QFX statement for background import
+     * POST /api/transactions/import
+     * Multipart parameters: file; optional format (csv, ofx, qfx) and defaultCategory
+     */
+    @PostMapping(consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<?> importTransactions(
+            @RequestParam("file") MultipartFile file,
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "Uncategorized") String defaultCategory,
+            @AuthenticationPrincipal AuthenticatedUser principal) throws IOException {
+        
+        UUID userId = principal.getUserId();
+        
+        if (file.isEmpty()) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Uploaded file is empty");
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+        
+        try {
+            ImportJobStatus job = transactionImportService.submit(userId, file, format, defaultCategory.trim());
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/transactions/import/" + job.getJobId()))
+                    .body(job);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        } catch (TaskRejectedException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", "Too many imports in progress, try again shortly");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, "30")
+                    .body(errorResponse);
+        }
+    }
+
+    /**
+     * Get the progress of an import job
+     * GET /api/transactions/import/{jobId}
+     */
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ImportJobStatus> getImportStatus(
+            @PathVariable UUID jobId,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        
+        UUID userId = principal.getUserId();
+        return transactionImportService.getJob(userId, jobId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
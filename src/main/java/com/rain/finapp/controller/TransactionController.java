@@ -1,21 +1,43 @@
 package com.rain.finapp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rain.finapp.dto.AuthenticatedUser;
+import com.rain.finapp.dto.BatchIngestResponse;
+import com.rain.finapp.dto.TransactionPageResponse;
 import com.rain.finapp.dto.TransactionRequest;
 import com.rain.finapp.dto.TransactionResponse;
+import com.rain.finapp.dto.TransactionSearchCriteria;
+import com.rain.finapp.dto.TransactionSearchPageResponse;
+import com.rain.finapp.model.TransactionType;
+import com.rain.finapp.service.LedgerVersions;
+import com.rain.finapp.service.TransactionExportService;
+import com.rain.finapp.service.TransactionIngestService;
 import com.rain.finapp.service.TransactionService;
 import jakarta.validation.Valid;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
@@ -25,9 +47,21 @@ import org.springframework.web.bind.annotation.RequestParam;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionIngestService transactionIngestService;
+    private final TransactionExportService transactionExportService;
+    private final LedgerVersions ledgerVersions;
+    private final ObjectMapper objectMapper;
 
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService,
+                                 TransactionIngestService transactionIngestService,
+                                 TransactionExportService transactionExportService,
+                                 LedgerVersions ledgerVersions,
+                                 ObjectMapper objectMapper) {
         this.transactionService = transactionService;
+        this.transactionIngestService = transactionIngestService;
+        this.transactionExportService = transactionExportService;
+        this.ledgerVersions = ledgerVersions;
+        this.objectMapper = objectMapper;
     }
 
     /**
@@ -37,37 +71,217 @@ public class TransactionController {
     @PostMapping
     public ResponseEntity<TransactionResponse> createTransaction(
             @Valid @RequestBody TransactionRequest request,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
-        String username = authentication.getName();
-        TransactionResponse response = transactionService.createTransaction(username, request);
+        UUID userId = principal.getUserId();
+        TransactionResponse response = transactionService.createTransaction(userId, principal.getUsername(), request);
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Create many transactions in one request
+     * POST /api/transactions/batch
+     * Accepts a JSON array or newline-delimited JSON (application/x-ndjson); the body is read as a stream
+     */
+    @PostMapping(value = "/batch", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson"})
+    public ResponseEntity<BatchIngestResponse> createTransactionsBatch(
+            InputStream body,
+            @AuthenticationPrincipal AuthenticatedUser principal) throws IOException {
+        
+        UUID userId = principal.getUserId();
+        try (MappingIterator<TransactionRequest> requests =
+                     objectMapper.readerFor(TransactionRequest.class).readValues(body)) {
+            BatchIngestResponse response = transactionIngestService.ingest(userId, requests);
+            return ResponseEntity.ok(response);
+        }
+    }
+
     /**
      * Get all transactions for the current user
      * GET /api/transactions
      * Optional query parameters: startDate, endDate, category
+     * Tagged with the ledger version; a matching If-None-Match gets a 304 without running the query
      */
     @GetMapping
     public ResponseEntity<List<TransactionResponse>> getTransactions(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
             @RequestParam(required = false) String category,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal,
+            WebRequest webRequest) {
         
-        String username = authentication.getName();
+        UUID userId = principal.getUserId();
+        String etag = ledgerVersions.etag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
         List<TransactionResponse> transactions;
         
         if (startDate != null && endDate != null) {
-            transactions = transactionService.getTransactionsByDateRange(username, startDate, endDate);
+            transactions = transactionService.getTransactionsByDateRange(userId, startDate, endDate);
         } else if (category != null && !category.trim().isEmpty()) {
-            transactions = transactionService.getTransactionsByCategory(username, category);
+            transactions = transactionService.getTransactionsByCategory(userId, category);
         } else {
-            transactions = transactionService.getAllTransactions(username);
+            transactions = transactionService.getAllTransactions(userId);
+        }
+        
+        return ResponseEntity.ok().cacheControl(LedgerVersions.CACHE_CONTROL).eTag(etag).body(transactions);
+    }
+
+    /**
+     * Get one keyset page of transactions, newest first
+     * GET /api/transactions/page
+     * Optional query parameters: cursor (nextCursor from the previous page), size
+     */
+    @GetMapping("/page")
+    public ResponseEntity<?> getTransactionPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        
+        UUID userId = principal.getUserId();
+        
+        try {
+            TransactionPageResponse page = transactionService.getTransactionPage(userId, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    /**
+     * Search transactions with any combination of filters, one keyset page at a time
+     * GET /api/transactions/search
+     * Optional query parameters: startDate, endDate, category (repeatable), type, minAmount, maxAmount,
+     * q (description text), sort (date_desc, date_asc, amount_desc, amount_asc; default date_desc), cursor, size
+     */
+    @GetMapping("/search")
+    public ResponseEntity<?> searchTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false) List<String> category,
+            @RequestParam(required = false) String type,
+            @RequestParam(required = false) BigDecimal minAmount,
+            @RequestParam(required = false) BigDecimal maxAmount,
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        
+        UUID userId = principal.getUserId();
+        
+        try {
+            TransactionSearchCriteria criteria = new TransactionSearchCriteria(startDate, endDate, category,
+                    parseType(type), minAmount, maxAmount, q, TransactionSearchCriteria.Sort.resolve(sort));
+            TransactionPageResponse page = transactionService.searchTransactions(userId, criteria, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    /**
+     * Full-text search over descriptions, ranked, with matches highlighted
+     * GET /api/transactions/search/text
+     * Query parameters: q (words, "quoted phrases", or, -excluded); optional cursor, size
+     */
+    @GetMapping("/search/text")
+    public ResponseEntity<?> searchDescriptions(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        
+        UUID userId = principal.getUserId();
+        
+        try {
+            TransactionSearchPageResponse page = transactionService.searchDescriptions(userId, q, cursor, size);
+            return ResponseEntity.ok(page);
+        } catch (IllegalArgumentException e) {
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest().body(errorResponse);
+        }
+    }
+
+    /**
+     * Stream all transactions as a JSON array without building the list in memory
+     * GET /api/transactions/stream
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamTransactions(@AuthenticationPrincipal AuthenticatedUser principal) {
+        UUID userId = principal.getUserId();
+        
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.createGenerator(outputStream)) {
+                generator.writeStartArray();
+                transactionService.streamTransactions(userId, null, null, null, transaction -> {
+                    try {
+                        generator.writeObject(transaction);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                generator.writeEndArray();
+            }
+        };
+        
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+    }
+
+    /**
+     * Download transactions as CSV, NDJSON or a JSON array, streamed from a database cursor
+     * GET /api/transactions/export
+     * Optional query parameters: format (csv, ndjson, json; default csv), gzip, startDate, endDate, category
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> exportTransactions(
+            @RequestParam(required = false) String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false) String category,
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        
+        UUID userId = principal.getUserId();
+        TransactionExportService.Format exportFormat;
+        
+        try {
+            exportFormat = TransactionExportService.Format.resolve(format);
+            if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+                throw new IllegalArgumentException("startDate must not be after endDate");
+            }
+        } catch (IllegalArgumentException e) {
+            // Streaming return type, so the error body is written through the same mechanism
+            Map<String, String> errorResponse = new HashMap<>();
+            errorResponse.put("error", e.getMessage());
+            return ResponseEntity.badRequest()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(outputStream -> objectMapper.writeValue(outputStream, errorResponse));
         }
         
-        return ResponseEntity.ok(transactions);
+        String categoryFilter = category != null && !category.trim().isEmpty() ? category.trim() : null;
+        String filename = "transactions." + exportFormat.getExtension() + (gzip ? ".gz" : "");
+        
+        StreamingResponseBody body = outputStream -> {
+            if (gzip) {
+                try (GZIPOutputStream compressed = new GZIPOutputStream(outputStream, 8192)) {
+                    transactionExportService.export(userId, exportFormat, startDate, endDate, categoryFilter, compressed);
+                }
+            } else {
+                transactionExportService.export(userId, exportFormat, startDate, endDate, categoryFilter, outputStream);
+            }
+        };
+        
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : exportFormat.getContentType()))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
     }
 
     /**
@@ -77,10 +291,10 @@ public class TransactionController {
     @GetMapping("/{id}")
     public ResponseEntity<TransactionResponse> getTransaction(
             @PathVariable UUID id,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
-        String username = authentication.getName();
-        TransactionResponse transaction = transactionService.getTransactionById(username, id);
+        UUID userId = principal.getUserId();
+        TransactionResponse transaction = transactionService.getTransactionById(userId, id);
         return ResponseEntity.ok(transaction);
     }
 
@@ -92,10 +306,10 @@ public class TransactionController {
     public ResponseEntity<TransactionResponse> updateTransaction(
             @PathVariable UUID id,
             @Valid @RequestBody TransactionRequest request,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
-        String username = authentication.getName();
-        TransactionResponse response = transactionService.updateTransaction(username, id, request);
+        UUID userId = principal.getUserId();
+        TransactionResponse response = transactionService.updateTransaction(userId, principal.getUsername(), id, request);
         return ResponseEntity.ok(response);
     }
 
@@ -106,10 +320,10 @@ public class TransactionController {
     @DeleteMapping("/{id}")
     public ResponseEntity<Void> deleteTransaction(
             @PathVariable UUID id,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
-        String username = authentication.getName();
-        transactionService.deleteTransaction(username, id);
+        UUID userId = principal.getUserId();
+        transactionService.deleteTransaction(userId, id);
         return ResponseEntity.noContent().build();
     }
 
@@ -118,21 +332,27 @@ public class TransactionController {
      * GET /api/transactions/categories
      */
     @GetMapping("/categories")
-    public ResponseEntity<List<String>> getCategories(Authentication authentication) {
-        String username = authentication.getName();
-        List<String> categories = transactionService.getUserCategories(username);
+    public ResponseEntity<List<String>> getCategories(@AuthenticationPrincipal AuthenticatedUser principal) {
+        UUID userId = principal.getUserId();
+        List<String> categories = transactionService.getUserCategories(userId);
         return ResponseEntity.ok(categories);
     }
 
     /**
      * Get recent transactions (last 30 days)
      * GET /api/transactions/recent
+     * Conditional on the ledger version, like GET /api/transactions
      */
     @GetMapping("/recent")
-    public ResponseEntity<List<TransactionResponse>> getRecentTransactions(Authentication authentication) {
-        String username = authentication.getName();
-        List<TransactionResponse> transactions = transactionService.getRecentTransactions(username);
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<List<TransactionResponse>> getRecentTransactions(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                                           WebRequest webRequest) {
+        UUID userId = principal.getUserId();
+        String etag = ledgerVersions.etag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        List<TransactionResponse> transactions = transactionService.getRecentTransactions(userId);
+        return ResponseEntity.ok().cacheControl(LedgerVersions.CACHE_CONTROL).eTag(etag).body(transactions);
     }
 
     /**
@@ -140,9 +360,9 @@ public class TransactionController {
      * GET /api/transactions/count
      */
     @GetMapping("/count")
-    public ResponseEntity<Long> getTransactionCount(Authentication authentication) {
-        String username = authentication.getName();
-        long count = transactionService.getTransactionCount(username);
+    public ResponseEntity<Long> getTransactionCount(@AuthenticationPrincipal AuthenticatedUser principal) {
+        UUID userId = principal.getUserId();
+        long count = transactionService.getTransactionCount(userId);
         return ResponseEntity.ok(count);
     }
 
@@ -151,9 +371,9 @@ public class TransactionController {
      * GET /api/transactions/categories/count
      */
     @GetMapping("/categories/count")
-    public ResponseEntity<Long> getCategoryCount(Authentication authentication) {
-        String username = authentication.getName();
-        long count = transactionService.getCategoryCount(username);
+    public ResponseEntity<Long> getCategoryCount(@AuthenticationPrincipal AuthenticatedUser principal) {
+        UUID userId = principal.getUserId();
+        long count = transactionService.getCategoryCount(userId);
         return ResponseEntity.ok(count);
     }
     
@@ -161,12 +381,18 @@ public class TransactionController {
     /**
      * Get category budgets with spending information
      * GET /api/transactions/category-budgets
+     * Conditional on the ledger version, like GET /api/transactions
      */
     @GetMapping("/category-budgets")
-    public ResponseEntity<Map<String, TransactionService.CategoryBudgetInfo>> getCategoryBudgets(Authentication authentication) {
-        String username = authentication.getName();
-        Map<String, TransactionService.CategoryBudgetInfo> budgets = transactionService.getCategoryBudgets(username);
-        return ResponseEntity.ok(budgets);
+    public ResponseEntity<Map<String, TransactionService.CategoryBudgetInfo>> getCategoryBudgets(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                                                                WebRequest webRequest) {
+        UUID userId = principal.getUserId();
+        String etag = ledgerVersions.etag(userId);
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        Map<String, TransactionService.CategoryBudgetInfo> budgets = transactionService.getCategoryBudgets(userId);
+        return ResponseEntity.ok().cacheControl(LedgerVersions.CACHE_CONTROL).eTag(etag).body(budgets);
     }
 
     /**
@@ -177,10 +403,10 @@ public class TransactionController {
     public ResponseEntity<Map<String, String>> setCategoryBudget(
             @RequestParam String category,
             @RequestParam BigDecimal budget,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
-        String username = authentication.getName();
-        transactionService.setCategoryBudget(username, category, budget);
+        UUID userId = principal.getUserId();
+        transactionService.setCategoryBudget(userId, category, budget);
         
         Map<String, String> response = new HashMap<>();
         response.put("message", "Budget set successfully");
@@ -197,12 +423,12 @@ public class TransactionController {
     @PostMapping("/categories")
     public ResponseEntity<Map<String, String>> createCategory(
             @RequestParam String name,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
-        String username = authentication.getName();
+        UUID userId = principal.getUserId();
         
         try {
-            transactionService.createCategory(username, name);
+            transactionService.createCategory(userId, name);
             
             Map<String, String> response = new HashMap<>();
             response.put("message", "Category created successfully");
@@ -222,12 +448,12 @@ public class TransactionController {
     @DeleteMapping("/categories/{categoryName}")
     public ResponseEntity<Map<String, String>> deleteCategory(
             @PathVariable String categoryName,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
-        String username = authentication.getName();
+        UUID userId = principal.getUserId();
         
         try {
-            transactionService.deleteCategory(username, categoryName);
+            transactionService.deleteCategory(userId, categoryName);
             
             Map<String, String> response = new HashMap<>();
             response.put("message", "Category deleted successfully");
@@ -248,41 +474,46 @@ public class TransactionController {
     @DeleteMapping("/categories/{categoryName}/transactions")
     public ResponseEntity<?> deleteAllTransactionsInCategory(
             @PathVariable String categoryName,
-            Authentication authentication) {
-        String username = authentication.getName();
-        transactionService.deleteAllTransactionsInCategory(username, categoryName);
-        return ResponseEntity.ok().build();
+            @AuthenticationPrincipal AuthenticatedUser principal) {
+        UUID userId = principal.getUserId();
+        int deleted = transactionService.deleteAllTransactionsInCategory(userId, categoryName);
+        
+        Map<String, Object> response = new HashMap<>();
+        response.put("category", categoryName);
+        response.put("deletedCount", deleted);
+        return ResponseEntity.ok(response);
     }
 
     /**
      * PUT /api/transactions/categories/{categoryName}
      */
     @PutMapping("/categories/{categoryName}")
-    public ResponseEntity<Map<String, String>> renameCategory(
+    public ResponseEntity<Map<String, Object>> renameCategory(
             @PathVariable String categoryName,
             @RequestBody Map<String, String> request,
-            Authentication authentication) {
+            @AuthenticationPrincipal AuthenticatedUser principal) {
         
-        String username = authentication.getName();
+        UUID userId = principal.getUserId();
         String newName = request.get("newName");
         
         if (newName == null || newName.trim().isEmpty()) {
-            Map<String, String> errorResponse = new HashMap<>();
+            Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", "New category name is required");
             return ResponseEntity.badRequest().body(errorResponse);
         }
         
         try {
-            transactionService.renameCategory(username, categoryName, newName);
+            int updated = transactionService.renameCategory(userId, categoryName, newName);
             
-            Map<String, String> response = new HashMap<>();
+            Map<String, Object> response = new HashMap<>();
             response.put("message", "Category renamed successfully");
             response.put("oldName", categoryName);
             response.put("newName", newName);
+            response.put("updatedCount", updated);
             
             return ResponseEntity.ok(response);
         } catch (IllegalArgumentException e) {
-            Map<String, String> errorResponse = new HashMap<>();
+            Map<String, Object> errorResponse = new HashMap<>();
             errorResponse.put("error", e.getMessage());
             return ResponseEntity.badRequest().body(errorResponse);
         }
@@ -292,11 +523,11 @@ public class TransactionController {
      * GET /api/budget-summary - Overall budget summary
      */
     @GetMapping("/budget-summary")
-    public ResponseEntity<Map<String, Object>> getBudgetSummary(Authentication authentication) {
-        String username = authentication.getName();
+    public ResponseEntity<Map<String, Object>> getBudgetSummary(@AuthenticationPrincipal AuthenticatedUser principal) {
+        UUID userId = principal.getUserId();
         
         try {
-            Map<String, Object> summary = transactionService.getBudgetSummary(username);
+            Map<String, Object> summary = transactionService.getBudgetSummary(userId);
             return ResponseEntity.ok(summary);
         } catch (Exception e) {
             Map<String, Object> errorResponse = new HashMap<>();
@@ -305,5 +536,14 @@ public class TransactionController {
         }
     }
 
-
-}
\ No newline at end of file
+    private static TransactionType parseType(String type) {
+        if (type == null || type.isBlank()) {
+            return null;
+        }
+        try {
+            return TransactionType.valueOf(type.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unsupported type: " + type);
+        }
+    }
+}
@@ -1,12 +1,14 @@
 package com.rain.finapp.controller;
 
+import com.rain.finapp.dto.AuthenticatedUser;
 import com.rain.finapp.model.User;
 import com.rain.finapp.repository.UserRepository;
+import com.rain.finapp.service.LedgerVersions;
 import com.rain.finapp.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.math.BigDecimal;
 import java.util.Map;
@@ -17,18 +19,20 @@ import java.util.Optional;
 public class UserController {
     private final UserRepository userRepository;
     private final UserService userService;
+    private final LedgerVersions ledgerVersions;
 
-    public UserController(UserRepository userRepository, UserService userService) {
+    public UserController(UserRepository userRepository, UserService userService, LedgerVersions ledgerVersions) {
         this.userRepository = userRepository;
         this.userService = userService;
+        this.ledgerVersions = ledgerVersions;
     }
 
     @GetMapping("/me")
-    public Map<String, Object> getCurrentUser(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
+    public Map<String, Object> getCurrentUser(@AuthenticationPrincipal AuthenticatedUser principal) {
+        if (principal == null) {
             return Map.of("error", "Not authenticated");
         }
-        Optional<User> userOpt = userRepository.findByUsername(userDetails.getUsername());
+        Optional<User> userOpt = userRepository.findById(principal.getUserId());
         if (userOpt.isPresent()) {
             User user = userOpt.get();
             return Map.of(
@@ -42,15 +46,23 @@ public class UserController {
         }
     }
 
+    // Conditional on the ledger version, which budget updates bump
     @GetMapping("/user/monthly-budget")
-    public ResponseEntity<Map<String, Object>> getMonthlyBudget(@AuthenticationPrincipal UserDetails userDetails) {
-        if (userDetails == null) {
+    public ResponseEntity<Map<String, Object>> getMonthlyBudget(@AuthenticationPrincipal AuthenticatedUser principal,
+                                                                WebRequest webRequest) {
+        if (principal == null) {
             return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
         }
 
+        String etag = ledgerVersions.etag(principal.getUserId());
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+
         try {
-            BigDecimal monthlyBudget = userService.getMonthlyBudget(userDetails.getUsername());
-            return ResponseEntity.ok(Map.of("monthlyBudget", monthlyBudget));
+            BigDecimal monthlyBudget = userService.getMonthlyBudget(principal.getUserId());
+            return ResponseEntity.ok().cacheControl(LedgerVersions.CACHE_CONTROL).eTag(etag)
+                    .body(Map.of("monthlyBudget", monthlyBudget));
         } catch (Exception e) {
             return ResponseEntity.status(400).body(Map.of("error", e.getMessage()));
         }
@@ -58,9 +70,9 @@ public class UserController {
 
     @PutMapping("/user/monthly-budget")
     public ResponseEntity<Map<String, Object>> updateMonthlyBudget(
-            @AuthenticationPrincipal UserDetails userDetails,
+            @AuthenticationPrincipal AuthenticatedUser principal,
             @RequestBody Map<String, String> request) {
-        if (userDetails == null) {
+        if (principal == null) {
             return ResponseEntity.status(401).body(Map.of("error", "Not authenticated"));
         }
 
@@ -75,7 +87,7 @@ public class UserController {
                 return ResponseEntity.status(400).body(Map.of("error", "Monthly budget cannot be negative"));
             }
 
-            User updatedUser = userService.updateMonthlyBudget(userDetails.getUsername(), monthlyBudget);
+            User updatedUser = userService.updateMonthlyBudget(principal.getUserId(), monthlyBudget);
             return ResponseEntity.ok(Map.of(
                 "message", "Monthly budget updated successfully",
                 "monthlyBudget", updatedUser.getMonthlyBudget()
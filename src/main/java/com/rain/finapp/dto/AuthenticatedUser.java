@@ -0,0 +1,46 @@
+package com.rain.finapp.dto;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Principal placed in the security context for JWT-authenticated requests.
+ * Carries the user id so services can filter by user_id without looking the user up again.
+ * Holds no password hash, since it is cached.
+ */
+public class AuthenticatedUser implements UserDetails {
+
+    private static final List<GrantedAuthority> AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_USER"));
+
+    private final UUID userId;
+    private final String username;
+
+    public AuthenticatedUser(UUID userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public UUID getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String getUsername() {
+        return username;
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return AUTHORITIES;
+    }
+}
@@ -0,0 +1,75 @@
+package com.rain.finapp.dto;
+
+import java.util.List;
+
+public class BatchIngestResponse {
+
+    private int received;
+    private int created;
+    private int rejected;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<BatchItemResult> results;
+
+    // Constructors
+    public BatchIngestResponse() {}
+
+    public BatchIngestResponse(int received, int created, int rejected, long elapsedMs,
+                               double rowsPerSecond, List<BatchItemResult> results) {
+        this.received = received;
+        this.created = created;
+        this.rejected = rejected;
+        this.elapsedMs = elapsedMs;
+        this.rowsPerSecond = rowsPerSecond;
+        this.results = results;
+    }
+
+    // Getters and setters
+    public int getReceived() {
+        return received;
+    }
+
+    public void setReceived(int received) {
+        this.received = received;
+    }
+
+    public int getCreated() {
+        return created;
+    }
+
+    public void setCreated(int created) {
+        this.created = created;
+    }
+
+    public int getRejected() {
+        return rejected;
+    }
+
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+
+    public long getElapsedMs() {
+        return elapsedMs;
+    }
+
+    public void setElapsedMs(long elapsedMs) {
+        this.elapsedMs = elapsedMs;
+    }
+
+    public double getRowsPerSecond() {
+        return rowsPerSecond;
+    }
+
+    public void setRowsPerSecond(double rowsPerSecond) {
+        this.rowsPerSecond = rowsPerSecond;
+    }
+
+    public List<BatchItemResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<BatchItemResult> results) {
+        this.results = results;
+    }
+}
@@ -0,0 +1,76 @@
+package com.rain.finapp.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outcome of one element of a batch ingest, identified by its position in the request body
+ */
+public class BatchItemResult {
+
+    public enum Status {
+        CREATED,
+        INVALID,
+        FAILED
+    }
+
+    private int index;
+    private Status status;
+    private UUID transactionId;
+    private List<String> errors;
+
+    // Constructors
+    public BatchItemResult() {}
+
+    public BatchItemResult(int index, Status status, UUID transactionId, List<String> errors) {
+        this.index = index;
+        this.status = status;
+        this.transactionId = transactionId;
+        this.errors = errors;
+    }
+
+    public static BatchItemResult created(int index, UUID transactionId) {
+        return new BatchItemResult(index, Status.CREATED, transactionId, null);
+    }
+
+    public static BatchItemResult invalid(int index, List<String> errors) {
+        return new BatchItemResult(index, Status.INVALID, null, errors);
+    }
+
+    public static BatchItemResult failed(int index, String error) {
+        return new BatchItemResult(index, Status.FAILED, null, List.of(error));
+    }
+
+    // Getters and setters
+    public int getIndex() {
+        return index;
+    }
+
+    public void setIndex(int index) {
+        this.index = index;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+
+    public void setTransactionId(UUID transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public void setErrors(List<String> errors) {
+        this.errors = errors;
+    }
+}
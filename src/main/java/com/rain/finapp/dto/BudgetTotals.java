@@ -0,0 +1,51 @@
+package com.rain.finapp.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Ledger totals computed by the database in a single aggregate query.
+ * SUM over an empty set is NULL in SQL, so missing values are normalized to zero.
+ */
+public class BudgetTotals {
+
+    private final BigDecimal totalIncome;
+    private final BigDecimal totalExpenses;
+    private final BigDecimal monthlyIncome;
+    private final BigDecimal monthlyExpenses;
+    private final long transactionCount;
+
+    public BudgetTotals(BigDecimal totalIncome, BigDecimal totalExpenses,
+                        BigDecimal monthlyIncome, BigDecimal monthlyExpenses,
+                        Long transactionCount) {
+        this.totalIncome = orZero(totalIncome);
+        this.totalExpenses = orZero(totalExpenses);
+        this.monthlyIncome = orZero(monthlyIncome);
+        this.monthlyExpenses = orZero(monthlyExpenses);
+        this.transactionCount = transactionCount != null ? transactionCount : 0L;
+    }
+
+    private static BigDecimal orZero(BigDecimal value) {
+        return value != null ? value : BigDecimal.ZERO;
+    }
+
+    // Getters
+    public BigDecimal getTotalIncome() {
+        return totalIncome;
+    }
+
+    public BigDecimal getTotalExpenses() {
+        return totalExpenses;
+    }
+
+    public BigDecimal getMonthlyIncome() {
+        return monthlyIncome;
+    }
+
+    public BigDecimal getMonthlyExpenses() {
+        return monthlyExpenses;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+}
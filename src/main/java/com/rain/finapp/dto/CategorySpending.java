@@ -0,0 +1,32 @@
+package com.rain.finapp.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Budgeted category joined with its summed expenses, as returned by the aggregate query.
+ */
+public class CategorySpending {
+
+    private final String category;
+    private final BigDecimal budget;
+    private final BigDecimal spent;
+
+    public CategorySpending(String category, BigDecimal budget, BigDecimal spent) {
+        this.category = category;
+        this.budget = budget;
+        this.spent = spent != null ? spent : BigDecimal.ZERO;
+    }
+
+    // Getters
+    public String getCategory() {
+        return category;
+    }
+
+    public BigDecimal getBudget() {
+        return budget;
+    }
+
+    public BigDecimal getSpent() {
+        return spent;
+    }
+}
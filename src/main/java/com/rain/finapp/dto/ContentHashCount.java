@@ -0,0 +1,24 @@
+package com.rain.finapp.dto;
+
+/**
+ * Number of a user's transactions sharing one content hash, as returned by the grouped count query.
+ */
+public class ContentHashCount {
+
+    private final String contentHash;
+    private final long count;
+
+    public ContentHashCount(String contentHash, Long count) {
+        this.contentHash = contentHash;
+        this.count = count != null ? count : 0L;
+    }
+
+    // Getters
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    public long getCount() {
+        return count;
+    }
+}
@@ -0,0 +1,121 @@
+package com.rain.finapp.dto;
+
+import com.rain.finapp.service.TransactionService;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Everything the dashboard page shows on load, in one response: the user, the monthly budget,
+ * all transactions, the last 30 days of them, categories and category budgets
+ */
+public class DashboardResponse {
+
+    private UUID userId;
+    private String username;
+    private String email;
+    private BigDecimal monthlyBudget;
+    private List<TransactionResponse> transactions;
+    private List<TransactionResponse> recentTransactions;
+    private List<String> categories;
+    private long categoryCount;
+    private Map<String, TransactionService.CategoryBudgetInfo> categoryBudgets;
+
+    // Constructors
+    public DashboardResponse() {}
+
+    public DashboardResponse(UUID userId,
+                             String username,
+                             String email,
+                             BigDecimal monthlyBudget,
+                             List<TransactionResponse> transactions,
+                             List<TransactionResponse> recentTransactions,
+                             List<String> categories,
+                             long categoryCount,
+                             Map<String, TransactionService.CategoryBudgetInfo> categoryBudgets) {
+        this.userId = userId;
+        this.username = username;
+        this.email = email;
+        this.monthlyBudget = monthlyBudget;
+        this.transactions = transactions;
+        this.recentTransactions = recentTransactions;
+        this.categories = categories;
+        this.categoryCount = categoryCount;
+        this.categoryBudgets = categoryBudgets;
+    }
+
+    // Getters and setters
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public void setUserId(UUID userId) {
+        this.userId = userId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public void setEmail(String email) {
+        this.email = email;
+    }
+
+    public BigDecimal getMonthlyBudget() {
+        return monthlyBudget;
+    }
+
+    public void setMonthlyBudget(BigDecimal monthlyBudget) {
+        this.monthlyBudget = monthlyBudget;
+    }
+
+    public List<TransactionResponse> getTransactions() {
+        return transactions;
+    }
+
+    public void setTransactions(List<TransactionResponse> transactions) {
+        this.transactions = transactions;
+    }
+
+    public List<TransactionResponse> getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    public void setRecentTransactions(List<TransactionResponse> recentTransactions) {
+        this.recentTransactions = recentTransactions;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public void setCategories(List<String> categories) {
+        this.categories = categories;
+    }
+
+    public long getCategoryCount() {
+        return categoryCount;
+    }
+
+    public void setCategoryCount(long categoryCount) {
+        this.categoryCount = categoryCount;
+    }
+
+    public Map<String, TransactionService.CategoryBudgetInfo> getCategoryBudgets() {
+        return categoryBudgets;
+    }
+
+    public void setCategoryBudgets(Map<String, TransactionService.CategoryBudgetInfo> categoryBudgets) {
+        this.categoryBudgets = categoryBudgets;
+    }
+}
@@ -0,0 +1,151 @@
+package com.rain.finapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.rain.finapp.importer.ImportFormat;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Progress of a statement import. Written only by the worker thread running the import
+ * and read by status requests, so counters are volatile rather than locked.
+ */
+public class ImportJobStatus {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private static final int MAX_REPORTED_ERRORS = 100;
+
+    private final UUID jobId;
+    private final UUID userId;
+    private final String filename;
+    private final ImportFormat format;
+    private final OffsetDateTime createdAt;
+    private final List<String> errors = new CopyOnWriteArrayList<>();
+
+    private volatile State state = State.QUEUED;
+    private volatile long rowsRead;
+    private volatile long imported;
+    private volatile long duplicates;
+    private volatile long rejected;
+    private volatile long categoriesCreated;
+    private volatile String message;
+    private volatile OffsetDateTime startedAt;
+    private volatile OffsetDateTime finishedAt;
+
+    public ImportJobStatus(UUID jobId, UUID userId, String filename, ImportFormat format) {
+        this.jobId = jobId;
+        this.userId = userId;
+        this.filename = filename;
+        this.format = format;
+        this.createdAt = OffsetDateTime.now();
+    }
+
+    // Progress updates (worker thread only)
+    public void markRunning() {
+        this.startedAt = OffsetDateTime.now();
+        this.state = State.RUNNING;
+    }
+
+    public void markCompleted() {
+        this.finishedAt = OffsetDateTime.now();
+        this.state = State.COMPLETED;
+    }
+
+    public void markFailed(String message) {
+        this.message = message;
+        this.finishedAt = OffsetDateTime.now();
+        this.state = State.FAILED;
+    }
+
+    public void rowRead() {
+        rowsRead++;
+    }
+
+    public void reject(long lineNumber, String error) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+            errors.add("Line " + lineNumber + ": " + error);
+        }
+    }
+
+    public void chunkWritten(long imported, long duplicates, long categoriesCreated) {
+        this.imported += imported;
+        this.duplicates += duplicates;
+        this.categoriesCreated += categoriesCreated;
+    }
+
+    @JsonIgnore
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    // Getters
+    public UUID getJobId() {
+        return jobId;
+    }
+
+    @JsonIgnore
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public ImportFormat getFormat() {
+        return format;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public long getRowsRead() {
+        return rowsRead;
+    }
+
+    public long getImported() {
+        return imported;
+    }
+
+    public long getDuplicates() {
+        return duplicates;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public long getCategoriesCreated() {
+        return categoriesCreated;
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public OffsetDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public OffsetDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public OffsetDateTime getFinishedAt() {
+        return finishedAt;
+    }
+}
@@ -0,0 +1,110 @@
+package com.rain.finapp.dto;
+
+import com.rain.finapp.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filters and ordering for a transaction search. Every filter is optional; the ones that are set are
+ * combined with AND into a single query.
+ */
+public class TransactionSearchCriteria {
+
+    /**
+     * Result order; the transaction id breaks ties so keyset positions are unique
+     */
+    public enum Sort {
+        DATE_DESC,
+        DATE_ASC,
+        AMOUNT_DESC,
+        AMOUNT_ASC;
+
+        public boolean isByAmount() {
+            return this == AMOUNT_DESC || this == AMOUNT_ASC;
+        }
+
+        public boolean isDescending() {
+            return this == DATE_DESC || this == AMOUNT_DESC;
+        }
+
+        public static Sort resolve(String value) {
+            if (value == null || value.isBlank()) {
+                return DATE_DESC;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported sort: " + value);
+            }
+        }
+    }
+
+    private final OffsetDateTime startDate;
+    private final OffsetDateTime endDate;
+    private final List<String> categories;
+    private final TransactionType type;
+    private final BigDecimal minAmount;
+    private final BigDecimal maxAmount;
+    private final String text;
+    private final Sort sort;
+
+    public TransactionSearchCriteria(OffsetDateTime startDate, OffsetDateTime endDate, List<String> categories,
+                                     TransactionType type, BigDecimal minAmount, BigDecimal maxAmount,
+                                     String text, Sort sort) {
+        if (startDate != null && endDate != null && startDate.isAfter(endDate)) {
+            throw new IllegalArgumentException("startDate must not be after endDate");
+        }
+        if (minAmount != null && maxAmount != null && minAmount.compareTo(maxAmount) > 0) {
+            throw new IllegalArgumentException("minAmount must not be greater than maxAmount");
+        }
+        this.startDate = startDate;
+        this.endDate = endDate;
+        // Blank entries come from empty form fields, not from a request to match blank categories
+        this.categories = categories == null ? List.of() : categories.stream()
+                .filter(category -> category != null && !category.isBlank())
+                .map(String::trim)
+                .distinct()
+                .toList();
+        this.type = type;
+        this.minAmount = minAmount;
+        this.maxAmount = maxAmount;
+        this.text = text == null || text.isBlank() ? null : text.trim();
+        this.sort = sort != null ? sort : Sort.DATE_DESC;
+    }
+
+    // Getters
+    public OffsetDateTime getStartDate() {
+        return startDate;
+    }
+
+    public OffsetDateTime getEndDate() {
+        return endDate;
+    }
+
+    public List<String> getCategories() {
+        return categories;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    public BigDecimal getMinAmount() {
+        return minAmount;
+    }
+
+    public BigDecimal getMaxAmount() {
+        return maxAmount;
+    }
+
+    public String getText() {
+        return text;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+}
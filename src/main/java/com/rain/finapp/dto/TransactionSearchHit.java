@@ -0,0 +1,31 @@
+package com.rain.finapp.dto;
+
+/**
+ * One full-text search result: the transaction, how well it matched and its description as HTML, with
+ * the matched words wrapped in &lt;mark&gt; tags and everything else escaped, ready to render as is.
+ */
+public class TransactionSearchHit {
+
+    private final TransactionResponse transaction;
+    private final float rank;
+    private final String highlight;
+
+    public TransactionSearchHit(TransactionResponse transaction, float rank, String highlight) {
+        this.transaction = transaction;
+        this.rank = rank;
+        this.highlight = highlight;
+    }
+
+    // Getters
+    public TransactionResponse getTransaction() {
+        return transaction;
+    }
+
+    public float getRank() {
+        return rank;
+    }
+
+    public String getHighlight() {
+        return highlight;
+    }
+}
@@ -0,0 +1,54 @@
+package com.rain.finapp.dto;
+
+import java.util.List;
+
+public class TransactionSearchPageResponse {
+
+    private List<TransactionSearchHit> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int size;
+
+    // Constructors
+    public TransactionSearchPageResponse() {}
+
+    public TransactionSearchPageResponse(List<TransactionSearchHit> items, String nextCursor, boolean hasMore, int size) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = hasMore;
+        this.size = size;
+    }
+
+    // Getters and setters
+    public List<TransactionSearchHit> getItems() {
+        return items;
+    }
+
+    public void setItems(List<TransactionSearchHit> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    public void setSize(int size) {
+        this.size = size;
+    }
+}
@@ -1,6 +1,8 @@
 package com.rain.finapp.filter;
 
 import com.rain.finapp.config.CookieConfig;
+import com.rain.finapp.dto.AuthenticatedUser;
+import com.rain.finapp.service.CustomUserDetailsService;
 import com.rain.finapp.util.JwtUtil;
 import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
@@ -9,8 +11,7 @@ import jakarta.servlet.http.Cookie;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 import org.springframework.security.core.Authentication;
@@ -18,6 +19,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContextHolder;
 
 import java.io.IOException;
+import java.util.UUID;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
@@ -25,11 +27,17 @@ public class JwtFilter extends OncePerRequestFilter {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private UserDetailsService userDetailsService;
+    private CustomUserDetailsService userDetailsService;
     
     @Autowired
     private CookieConfig cookieConfig;
 
+    // The access token is usually expired when refreshing; a 401 here would block the refresh itself
+    @Override
+    protected boolean shouldNotFilter(@org.springframework.lang.NonNull HttpServletRequest request) {
+        return "/api/refresh".equals(request.getServletPath());
+    }
+
     @Override
     protected void doFilterInternal(
             @org.springframework.lang.NonNull HttpServletRequest request,
@@ -56,10 +64,14 @@ public class JwtFilter extends OncePerRequestFilter {
                 Claims claims = jwtUtil.validateToken(token);
                 request.setAttribute("claims", claims);
                 
+                // Subject is the user id; the principal comes from the users cache, not a query per request
                 String username = claims.get("username", String.class);
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                AuthenticatedUser principal = userDetailsService.loadUserById(UUID.fromString(claims.getSubject()));
+                if (!principal.getUsername().equals(username)) {
+                    throw new BadCredentialsException("Token does not match user");
+                }
                 Authentication auth = new UsernamePasswordAuthenticationToken(
-                    userDetails, null, userDetails.getAuthorities());
+                    principal, null, principal.getAuthorities());
                 SecurityContextHolder.getContext().setAuthentication(auth);
                 
             } catch (Exception e) {
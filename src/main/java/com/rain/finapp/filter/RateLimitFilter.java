@@ -0,0 +1,162 @@
+package com.rain.finapp.filter;
+
+import com.rain.finapp.config.CookieConfig;
+import com.rain.finapp.config.RateLimitConfig;
+import com.rain.finapp.util.JwtUtil;
+import com.rain.finapp.util.RateLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applies the rate-limit.* token buckets ahead of JwtFilter: global and auth per client IP, api per
+ * user. Rejections get 429 with Retry-After and are counted per limit.
+ * The client IP is the remote address as resolved by server.forward-headers-strategy, so behind a
+ * trusted proxy it is the address from X-Forwarded-For. Pages and static assets (GETs outside /api
+ * and /actuator) are not counted, so loading the dashboard does not use up the global bucket.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> AUTH_PATHS = Set.of("/api/login", "/api/register", "/api/refresh");
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final String REJECTED_BODY = "{\"error\":\"Too many requests, try again later\"}";
+
+    private final RateLimitConfig config;
+    private final JwtUtil jwtUtil;
+    private final CookieConfig cookieConfig;
+
+    private final RateLimiter global;
+    private final RateLimiter auth;
+    private final RateLimiter api;
+    private final Counter globalRejections;
+    private final Counter authRejections;
+    private final Counter apiRejections;
+
+    public RateLimitFilter(RateLimitConfig config, JwtUtil jwtUtil, CookieConfig cookieConfig, MeterRegistry meterRegistry) {
+        this.config = config;
+        this.jwtUtil = jwtUtil;
+        this.cookieConfig = cookieConfig;
+        this.global = limiter("global", config.getGlobal());
+        this.auth = limiter("auth", config.getAuth());
+        this.api = limiter("api", config.getApi());
+        // Registered up front so a rejection only increments
+        this.globalRejections = register(meterRegistry, global);
+        this.authRejections = register(meterRegistry, auth);
+        this.apiRejections = register(meterRegistry, api);
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @org.springframework.lang.NonNull HttpServletRequest request,
+            @org.springframework.lang.NonNull HttpServletResponse response,
+            @org.springframework.lang.NonNull FilterChain filterChain)
+            throws ServletException, IOException {
+
+        if (!config.isEnabled()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        long now = System.nanoTime();
+        String clientIp = request.getRemoteAddr();
+        String uri = request.getRequestURI();
+
+        if (!isStaticResource(request, uri) && rejected(global, globalRejections, clientIp, now, response)) {
+            return;
+        }
+        if (AUTH_PATHS.contains(uri) && rejected(auth, authRejections, clientIp, now, response)) {
+            return;
+        }
+        if (uri.startsWith("/api/")) {
+            String userId = authenticatedUserId(request);
+            if (userId != null && rejected(api, apiRejections, userId, now, response)) {
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+
+    /**
+     * Drop buckets that have refilled completely so one-off clients don't accumulate
+     */
+    @Scheduled(fixedDelayString = "${rate-limit.eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        long now = System.nanoTime();
+        global.evictIdle(now);
+        auth.evictIdle(now);
+        api.evictIdle(now);
+    }
+
+    private boolean rejected(RateLimiter limiter, Counter rejections, String key, long now,
+                             HttpServletResponse response) throws IOException {
+        long waitNanos = limiter.tryAcquire(key, now);
+        if (waitNanos == 0) {
+            return false;
+        }
+        rejections.increment();
+        long retryAfterSeconds = Math.max(1, (waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write(REJECTED_BODY);
+        return true;
+    }
+
+    private static boolean isStaticResource(HttpServletRequest request, String uri) {
+        String method = request.getMethod();
+        return ("GET".equals(method) || "HEAD".equals(method))
+                && !uri.startsWith("/api/") && !uri.startsWith("/actuator/");
+    }
+
+    // User id from a valid token (a cache hit that JwtFilter then reuses), or null to let JwtFilter reject it
+    private String authenticatedUserId(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (cookieConfig.getName().equals(cookie.getName()) && !cookie.getValue().isEmpty()) {
+                try {
+                    return jwtUtil.validateToken(cookie.getValue()).getSubject();
+                } catch (RuntimeException e) {
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static RateLimiter limiter(String name, RateLimitConfig.Limit limit) {
+        return new RateLimiter(name, limit.getCapacity(), limit.getRefillTokens(),
+                Duration.ofSeconds(limit.getRefillDuration()));
+    }
+
+    private static Counter register(MeterRegistry meterRegistry, RateLimiter limiter) {
+        Gauge.builder("rate.limit.buckets", limiter, RateLimiter::size)
+                .description("Client buckets currently tracked")
+                .tag("limit", limiter.getName())
+                .register(meterRegistry);
+        return Counter.builder("rate.limit.rejections")
+                .description("Requests rejected with 429")
+                .tag("limit", limiter.getName())
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,236 @@
+package com.rain.finapp.importer;
+
+import com.rain.finapp.dto.TransactionRequest;
+import com.rain.finapp.model.TransactionType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Streaming CSV statement reader (RFC 4180 quoting, header row required).
+ * Columns are matched by header name, so exports from different banks work without configuration.
+ * Without a type column, negative amounts are expenses and positive amounts are income.
+ */
+public class CsvTransactionReader implements TransactionFileReader {
+
+    private static final List<String> DATE_HEADERS = List.of("date", "transaction date", "posted date", "posting date", "transactiondate");
+    private static final List<String> AMOUNT_HEADERS = List.of("amount", "transaction amount");
+    private static final List<String> DEBIT_HEADERS = List.of("debit", "withdrawal", "withdrawals");
+    private static final List<String> CREDIT_HEADERS = List.of("credit", "deposit", "deposits");
+    private static final List<String> DESCRIPTION_HEADERS = List.of("description", "payee", "name", "details", "memo");
+    private static final List<String> CATEGORY_HEADERS = List.of("category");
+    private static final List<String> TYPE_HEADERS = List.of("type", "transaction type");
+
+    private final Reader reader;
+    private final String defaultCategory;
+
+    private long line = 1;
+    private int pushback = -2;
+    private boolean headerRead;
+
+    private int dateColumn = -1;
+    private int amountColumn = -1;
+    private int debitColumn = -1;
+    private int creditColumn = -1;
+    private int descriptionColumn = -1;
+    private int categoryColumn = -1;
+    private int typeColumn = -1;
+
+    public CsvTransactionReader(Reader reader, String defaultCategory) {
+        this.reader = reader;
+        this.defaultCategory = defaultCategory;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        if (!headerRead) {
+            readHeader();
+        }
+        List<String> fields;
+        long recordLine;
+        do {
+            recordLine = line;
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (isBlank(fields));
+        return map(recordLine, fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private void readHeader() throws IOException {
+        headerRead = true;
+        List<String> header = readRecord();
+        if (header == null) {
+            throw new IllegalArgumentException("CSV file is empty");
+        }
+        List<String> names = new ArrayList<>(header.size());
+        for (String name : header) {
+            // Strip a UTF-8 byte order mark left on the first column by spreadsheet exports
+            names.add(name.replace("\uFEFF", "").trim().toLowerCase(Locale.ROOT));
+        }
+        dateColumn = findColumn(names, DATE_HEADERS);
+        amountColumn = findColumn(names, AMOUNT_HEADERS);
+        debitColumn = findColumn(names, DEBIT_HEADERS);
+        creditColumn = findColumn(names, CREDIT_HEADERS);
+        descriptionColumn = findColumn(names, DESCRIPTION_HEADERS);
+        categoryColumn = findColumn(names, CATEGORY_HEADERS);
+        typeColumn = findColumn(names, TYPE_HEADERS);
+
+        if (dateColumn < 0) {
+            throw new IllegalArgumentException("CSV header has no date column");
+        }
+        if (amountColumn < 0 && debitColumn < 0 && creditColumn < 0) {
+            throw new IllegalArgumentException("CSV header has no amount, debit or credit column");
+        }
+    }
+
+    private ImportRow map(long recordLine, List<String> fields) {
+        try {
+            OffsetDateTime date = ImportValues.parseDate(field(fields, dateColumn));
+
+            BigDecimal amount;
+            TransactionType type = null;
+            String amountValue = field(fields, amountColumn);
+            if (!amountValue.isEmpty()) {
+                amount = ImportValues.parseAmount(amountValue);
+            } else if (!field(fields, debitColumn).isEmpty()) {
+                amount = ImportValues.parseAmount(field(fields, debitColumn)).abs();
+                type = TransactionType.EXPENSE;
+            } else if (!field(fields, creditColumn).isEmpty()) {
+                amount = ImportValues.parseAmount(field(fields, creditColumn)).abs();
+                type = TransactionType.INCOME;
+            } else {
+                return ImportRow.error(recordLine, "Missing amount");
+            }
+
+            String typeValue = field(fields, typeColumn);
+            if (!typeValue.isEmpty()) {
+                TransactionType declared = ImportValues.parseType(typeValue);
+                if (declared == null) {
+                    return ImportRow.error(recordLine, "Unrecognized type: " + typeValue);
+                }
+                type = declared;
+            } else if (type == null) {
+                type = ImportValues.typeFromSign(amount);
+            }
+
+            String category = field(fields, categoryColumn);
+            String description = field(fields, descriptionColumn);
+            TransactionRequest request = new TransactionRequest(
+                    amount.abs(),
+                    category.isEmpty() ? defaultCategory : category,
+                    description.isEmpty() ? null : description,
+                    type,
+                    date);
+            return ImportRow.of(recordLine, request);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return ImportRow.error(recordLine, e.getMessage());
+        }
+    }
+
+    private static int findColumn(List<String> names, List<String> candidates) {
+        for (String candidate : candidates) {
+            int index = names.indexOf(candidate);
+            if (index >= 0) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static String field(List<String> fields, int column) {
+        if (column < 0 || column >= fields.size()) {
+            return "";
+        }
+        return fields.get(column).trim();
+    }
+
+    private static boolean isBlank(List<String> fields) {
+        for (String field : fields) {
+            if (!field.isBlank()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Read one record, honouring quoted fields that contain commas, quotes or line breaks.
+     * @return the fields, or null at end of input
+     */
+    private List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        boolean any = false;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (!any) {
+                    return null;
+                }
+                fields.add(current.toString());
+                return fields;
+            }
+            any = true;
+            if (quoted) {
+                if (c == '"') {
+                    int following = read();
+                    if (following == '"') {
+                        current.append('"');
+                    } else {
+                        quoted = false;
+                        unread(following);
+                    }
+                } else {
+                    if (c == '\n') {
+                        line++;
+                    }
+                    current.append((char) c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(current.toString());
+                current.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int following = read();
+                    if (following != '\n') {
+                        unread(following);
+                    }
+                }
+                line++;
+                fields.add(current.toString());
+                return fields;
+            } else {
+                current.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
@@ -0,0 +1,34 @@
+package com.rain.finapp.importer;
+
+import java.util.Locale;
+
+/**
+ * Statement file formats accepted by the import endpoint
+ */
+public enum ImportFormat {
+    CSV,
+    OFX;
+
+    /**
+     * Resolve the format from an explicit parameter, falling back to the file extension.
+     * QFX is Quicken's branding of OFX and is parsed the same way.
+     */
+    public static ImportFormat resolve(String requested, String filename) {
+        String value = requested;
+        if (value == null || value.isBlank()) {
+            if (filename == null || filename.lastIndexOf('.') < 0) {
+                throw new IllegalArgumentException("Cannot determine file format; pass format=csv or format=ofx");
+            }
+            value = filename.substring(filename.lastIndexOf('.') + 1);
+        }
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "csv":
+                return CSV;
+            case "ofx":
+            case "qfx":
+                return OFX;
+            default:
+                throw new IllegalArgumentException("Unsupported import format: " + value);
+        }
+    }
+}
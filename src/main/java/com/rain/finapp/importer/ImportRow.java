@@ -0,0 +1,43 @@
+package com.rain.finapp.importer;
+
+import com.rain.finapp.dto.TransactionRequest;
+
+/**
+ * One record read from a statement file: either a mapped request or the reason it could not be mapped
+ */
+public class ImportRow {
+
+    private final long lineNumber;
+    private final TransactionRequest request;
+    private final String error;
+
+    private ImportRow(long lineNumber, TransactionRequest request, String error) {
+        this.lineNumber = lineNumber;
+        this.request = request;
+        this.error = error;
+    }
+
+    public static ImportRow of(long lineNumber, TransactionRequest request) {
+        return new ImportRow(lineNumber, request, null);
+    }
+
+    public static ImportRow error(long lineNumber, String error) {
+        return new ImportRow(lineNumber, null, error);
+    }
+
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    public TransactionRequest getRequest() {
+        return request;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public boolean isValid() {
+        return error == null;
+    }
+}
@@ -0,0 +1,101 @@
+package com.rain.finapp.importer;
+
+import com.rain.finapp.model.TransactionType;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Lenient parsing of the amount, date and type values found in bank statement exports
+ */
+final class ImportValues {
+
+    private static final List<DateTimeFormatter> LOCAL_DATE_FORMATS = List.of(
+            DateTimeFormatter.ISO_LOCAL_DATE,
+            DateTimeFormatter.ofPattern("M/d/yyyy"),
+            DateTimeFormatter.ofPattern("yyyy/M/d"),
+            DateTimeFormatter.BASIC_ISO_DATE
+    );
+
+    private ImportValues() {}
+
+    /**
+     * Parse an amount such as "1,234.50", "$-12.00" or "(12.00)"; the sign is preserved
+     */
+    static BigDecimal parseAmount(String raw) {
+        String value = raw.trim();
+        boolean negative = false;
+        if (value.startsWith("(") && value.endsWith(")")) {
+            negative = true;
+            value = value.substring(1, value.length() - 1);
+        }
+        value = value.replace(",", "").replace("$", "").replace(" ", "");
+        BigDecimal amount = new BigDecimal(value);
+        return negative ? amount.negate() : amount;
+    }
+
+    /**
+     * Parse a date or date-time; values without an offset are taken as UTC
+     */
+    static OffsetDateTime parseDate(String raw) {
+        String value = raw.trim();
+        try {
+            return OffsetDateTime.parse(value);
+        } catch (DateTimeParseException ignored) {
+            // fall through to local formats
+        }
+        try {
+            return LocalDateTime.parse(value).atOffset(ZoneOffset.UTC);
+        } catch (DateTimeParseException ignored) {
+            // fall through to date-only formats
+        }
+        for (DateTimeFormatter format : LOCAL_DATE_FORMATS) {
+            try {
+                return LocalDate.parse(value, format).atStartOfDay().atOffset(ZoneOffset.UTC);
+            } catch (DateTimeParseException ignored) {
+                // try the next format
+            }
+        }
+        throw new IllegalArgumentException("Unrecognized date: " + raw);
+    }
+
+    /**
+     * Map a statement's type label to a transaction type, or null if it is not recognized
+     */
+    static TransactionType parseType(String raw) {
+        switch (raw.trim().toLowerCase(Locale.ROOT)) {
+            case "income":
+            case "credit":
+            case "deposit":
+            case "dep":
+            case "int":
+            case "div":
+                return TransactionType.INCOME;
+            case "expense":
+            case "debit":
+            case "withdrawal":
+            case "payment":
+            case "pos":
+            case "atm":
+            case "fee":
+            case "check":
+                return TransactionType.EXPENSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Infer the type from a signed amount: money in is income, money out is an expense
+     */
+    static TransactionType typeFromSign(BigDecimal amount) {
+        return amount.signum() < 0 ? TransactionType.EXPENSE : TransactionType.INCOME;
+    }
+}
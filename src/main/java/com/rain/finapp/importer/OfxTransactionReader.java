@@ -0,0 +1,179 @@
+package com.rain.finapp.importer;
+
+import com.rain.finapp.dto.TransactionRequest;
+import com.rain.finapp.model.TransactionType;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Streaming OFX/QFX statement reader. Handles both OFX 1.x SGML (unclosed leaf elements)
+ * and OFX 2.x XML by tokenizing tags, and emits one record per STMTTRN aggregate.
+ */
+public class OfxTransactionReader implements TransactionFileReader {
+
+    private static final DateTimeFormatter OFX_DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMddHHmmss");
+
+    private final Reader reader;
+    private final String defaultCategory;
+
+    private int pushback = -2;
+    private long line = 1;
+
+    public OfxTransactionReader(Reader reader, String defaultCategory) {
+        this.reader = reader;
+        this.defaultCategory = defaultCategory;
+    }
+
+    @Override
+    public ImportRow next() throws IOException {
+        // Skip ahead to the next transaction aggregate
+        String tag;
+        do {
+            tag = nextTag();
+            if (tag == null) {
+                return null;
+            }
+        } while (!tag.equals("STMTTRN"));
+
+        long recordLine = line;
+        Map<String, String> values = new HashMap<>();
+        while (true) {
+            tag = nextTag();
+            if (tag == null || tag.equals("/STMTTRN")) {
+                break;
+            }
+            if (!tag.startsWith("/")) {
+                values.put(tag, readText());
+            }
+        }
+        return map(recordLine, values);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ImportRow map(long recordLine, Map<String, String> values) {
+        try {
+            String postedValue = values.getOrDefault("DTPOSTED", "");
+            String amountValue = values.getOrDefault("TRNAMT", "");
+            if (postedValue.isEmpty() || amountValue.isEmpty()) {
+                return ImportRow.error(recordLine, "STMTTRN without DTPOSTED or TRNAMT");
+            }
+            OffsetDateTime date = parseOfxDate(postedValue);
+            BigDecimal amount = ImportValues.parseAmount(amountValue);
+            TransactionType type = ImportValues.typeFromSign(amount);
+
+            String name = values.getOrDefault("NAME", "");
+            String memo = values.getOrDefault("MEMO", "");
+            String description = name.isEmpty() ? memo : (memo.isEmpty() || memo.equals(name) ? name : name + " - " + memo);
+
+            TransactionRequest request = new TransactionRequest(
+                    amount.abs(), defaultCategory, description.isEmpty() ? null : description, type, date);
+            return ImportRow.of(recordLine, request);
+        } catch (IllegalArgumentException | ArithmeticException | java.time.DateTimeException e) {
+            return ImportRow.error(recordLine, e.getMessage());
+        }
+    }
+
+    /**
+     * Parse an OFX datetime: YYYYMMDD[HHMMSS[.XXX]][[gmt offset[:tz name]]]
+     */
+    static OffsetDateTime parseOfxDate(String raw) {
+        String value = raw.trim();
+        ZoneOffset offset = ZoneOffset.UTC;
+        int bracket = value.indexOf('[');
+        if (bracket >= 0) {
+            String zone = value.substring(bracket + 1, value.indexOf(']', bracket));
+            int colon = zone.indexOf(':');
+            String hours = colon >= 0 ? zone.substring(0, colon) : zone;
+            offset = ZoneOffset.ofTotalSeconds((int) (Double.parseDouble(hours) * 3600));
+            value = value.substring(0, bracket);
+        }
+        int dot = value.indexOf('.');
+        if (dot >= 0) {
+            value = value.substring(0, dot);
+        }
+        if (value.length() == 8) {
+            return LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE).atStartOfDay().atOffset(offset);
+        }
+        if (value.length() == 14) {
+            return LocalDateTime.parse(value, OFX_DATE_TIME).atOffset(offset);
+        }
+        throw new IllegalArgumentException("Unrecognized OFX date: " + raw);
+    }
+
+    /**
+     * Advance past the next tag and return its upper-cased name ("/NAME" for closing tags),
+     * or null at end of input. Processing instructions and headers are skipped.
+     */
+    private String nextTag() throws IOException {
+        while (true) {
+            int c = read();
+            while (c != -1 && c != '<') {
+                c = read();
+            }
+            if (c == -1) {
+                return null;
+            }
+            StringBuilder name = new StringBuilder();
+            c = read();
+            while (c != -1 && c != '>') {
+                name.append((char) c);
+                c = read();
+            }
+            if (name.length() > 0 && name.charAt(0) != '?' && name.charAt(0) != '!') {
+                return name.toString().trim().toUpperCase(Locale.ROOT);
+            }
+        }
+    }
+
+    /**
+     * Read the text content following a tag, up to the next tag
+     */
+    private String readText() throws IOException {
+        StringBuilder text = new StringBuilder();
+        int c = read();
+        while (c != -1 && c != '<') {
+            text.append((char) c);
+            c = read();
+        }
+        if (c == '<') {
+            unread(c);
+        }
+        return unescape(text.toString().trim());
+    }
+
+    private static String unescape(String value) {
+        return value.replace("&lt;", "<").replace("&gt;", ">").replace("&quot;", "\"")
+                .replace("&apos;", "'").replace("&amp;", "&");
+    }
+
+    private int read() throws IOException {
+        if (pushback != -2) {
+            int c = pushback;
+            pushback = -2;
+            return c;
+        }
+        int c = reader.read();
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private void unread(int c) {
+        pushback = c;
+    }
+}
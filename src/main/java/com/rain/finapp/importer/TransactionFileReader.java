@@ -0,0 +1,16 @@
+package com.rain.finapp.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Pull-based reader over a statement file. Implementations read the underlying stream
+ * incrementally and never hold more than the current record in memory.
+ */
+public interface TransactionFileReader extends Closeable {
+
+    /**
+     * @return the next record, or null at end of file
+     */
+    ImportRow next() throws IOException;
+}
@@ -0,0 +1,23 @@
+package com.rain.finapp.job;
+
+import com.rain.finapp.service.RefreshTokenService;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically deletes expired refresh tokens so the table only holds live sessions
+ */
+@Component
+public class RefreshTokenPurgeJob {
+
+    private final RefreshTokenService refreshTokenService;
+
+    public RefreshTokenPurgeJob(RefreshTokenService refreshTokenService) {
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    @Scheduled(cron = "${refresh-token.purge-cron:0 15 * * * *}")
+    public void purge() {
+        refreshTokenService.purgeExpired();
+    }
+}
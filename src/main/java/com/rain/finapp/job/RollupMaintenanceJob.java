@@ -0,0 +1,27 @@
+package com.rain.finapp.job;
+
+import com.rain.finapp.service.RollupService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Periodically checks the transaction rollups against the ledger (V6 builds them once from the ledger)
+ */
+@Component
+public class RollupMaintenanceJob {
+
+    private final RollupService rollupService;
+    private final boolean repair;
+
+    public RollupMaintenanceJob(RollupService rollupService,
+                                @Value("${rollup.verify.repair:true}") boolean repair) {
+        this.rollupService = rollupService;
+        this.repair = repair;
+    }
+
+    @Scheduled(cron = "${rollup.verify.cron:0 30 3 * * *}")
+    public void verify() {
+        rollupService.verify(repair);
+    }
+}
@@ -6,7 +6,9 @@ import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "categories")
+@Table(name = "categories", indexes = {
+        @Index(name = "uk_categories_user_name", columnList = "user_id, name", unique = true)
+})
 public class Category {
 
     @Id
@@ -1,16 +1,23 @@
 package com.rain.finapp.model;
 
+import com.rain.finapp.util.ContentHash;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "transactions")
+// Indexes are created by the Flyway migrations; declared here so the mapping documents them.
+// The GIN index on the generated description_tsv column cannot be declared here; see V4.
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_user_content_hash", columnList = "user_id, content_hash"),
+        @Index(name = "idx_transactions_user_date_id", columnList = "user_id, transactionDate DESC, transactionId DESC"),
+        @Index(name = "idx_transactions_user_category_id_date", columnList = "user_id, category_id, transactionDate DESC")
+})
 public class Transaction {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.UUID) // Generated in memory, so inserts can be JDBC-batched
     @Column(columnDefinition = "uuid", updatable = false, nullable = false)
     private UUID transactionId;
 
@@ -21,8 +28,11 @@ public class Transaction {
     @Column(nullable = false, precision = 19, scale = 2)
     private BigDecimal amount;
 
-    @Column(nullable = false, length = 100)
-    private String category;
+    // The name lives only on the category row, so a rename touches one row. The legacy category name
+    // column is left unmapped; a V5 trigger fills it for the previous release until a later migration drops it.
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "category_id", nullable = false)
+    private Category category;
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = true, length = 20) // Temporarily nullable for migration
@@ -40,6 +50,10 @@ public class Transaction {
     @Column(name = "updated_at")
     private OffsetDateTime updatedAt;
 
+    // SHA-256 of (UTC day, amount, description), used to de-duplicate statement imports
+    @Column(name = "content_hash", length = 64)
+    private String contentHash;
+
     @PrePersist
     protected void onCreate() {
         this.createdAt = OffsetDateTime.now();
@@ -47,17 +61,19 @@ public class Transaction {
         if (this.transactionDate == null) {
             this.transactionDate = OffsetDateTime.now();
         }
+        this.contentHash = ContentHash.of(transactionDate, amount, description);
     }
 
     @PreUpdate
     protected void onUpdate() {
         this.updatedAt = OffsetDateTime.now();
+        this.contentHash = ContentHash.of(transactionDate, amount, description);
     }
 
     // Constructors
     public Transaction() {}
 
-    public Transaction(User user, BigDecimal amount, String category, String description) {
+    public Transaction(User user, BigDecimal amount, Category category, String description) {
         this.user = user;
         this.amount = amount;
         this.category = category;
@@ -66,7 +82,7 @@ public class Transaction {
         this.transactionDate = OffsetDateTime.now();
     }
 
-    public Transaction(User user, BigDecimal amount, String category, String description, TransactionType type) {
+    public Transaction(User user, BigDecimal amount, Category category, String description, TransactionType type) {
         this.user = user;
         this.amount = amount;
         this.category = category;
@@ -100,11 +116,11 @@ public class Transaction {
         this.amount = amount;
     }
 
-    public String getCategory() {
+    public Category getCategory() {
         return category;
     }
 
-    public void setCategory(String category) {
+    public void setCategory(Category category) {
         this.category = category;
     }
 
@@ -148,12 +164,15 @@ public class Transaction {
         this.updatedAt = updatedAt;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
     @Override
     public String toString() {
         return "Transaction{" +
                 "transactionId=" + transactionId +
                 ", amount=" + amount +
-                ", category='" + category + '\'' +
                 ", transactionDate=" + transactionDate +
                 ", description='" + description + '\'' +
                 '}';
@@ -0,0 +1,57 @@
+package com.rain.finapp.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+/**
+ * Materialized per-user, per-month, per-category, per-type totals of the transactions table.
+ * Maintained incrementally by RollupService in the same database transaction as the ledger write.
+ */
+@Entity
+@Table(name = "transaction_rollups")
+public class TransactionRollup {
+
+    @EmbeddedId
+    private TransactionRollupId id;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount;
+
+    @Column(name = "transaction_count", nullable = false)
+    private long transactionCount;
+
+    @Column(name = "updated_at")
+    private OffsetDateTime updatedAt;
+
+    // Constructors
+    public TransactionRollup() {}
+
+    // Getters
+    public TransactionRollupId getId() {
+        return id;
+    }
+
+    public BigDecimal getTotalAmount() {
+        return totalAmount;
+    }
+
+    public long getTransactionCount() {
+        return transactionCount;
+    }
+
+    public OffsetDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "TransactionRollup{" +
+                "periodStart=" + (id != null ? id.getPeriodStart() : null) +
+                ", category='" + (id != null ? id.getCategory() : null) + '\'' +
+                ", type=" + (id != null ? id.getType() : null) +
+                ", totalAmount=" + totalAmount +
+                ", transactionCount=" + transactionCount +
+                '}';
+    }
+}
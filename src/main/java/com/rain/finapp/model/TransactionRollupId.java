@@ -0,0 +1,69 @@
+package com.rain.finapp.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Composite key of a rollup row: one row per user, calendar month (UTC), category and type.
+ */
+@Embeddable
+public class TransactionRollupId implements Serializable {
+
+    @Column(name = "user_id", columnDefinition = "uuid", nullable = false)
+    private UUID userId;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDate periodStart;
+
+    @Column(name = "category", nullable = false, length = 100)
+    private String category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false, length = 20)
+    private TransactionType type;
+
+    // Constructors
+    public TransactionRollupId() {}
+
+    public TransactionRollupId(UUID userId, LocalDate periodStart, String category, TransactionType type) {
+        this.userId = userId;
+        this.periodStart = periodStart;
+        this.category = category;
+        this.type = type;
+    }
+
+    // Getters
+    public UUID getUserId() {
+        return userId;
+    }
+
+    public LocalDate getPeriodStart() {
+        return periodStart;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public TransactionType getType() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof TransactionRollupId that)) return false;
+        return Objects.equals(userId, that.userId)
+                && Objects.equals(periodStart, that.periodStart)
+                && Objects.equals(category, that.category)
+                && type == that.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(userId, periodStart, category, type);
+    }
+}
@@ -3,8 +3,13 @@ package com.rain.finapp.repository;
 import com.rain.finapp.model.Category;
 import com.rain.finapp.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -15,8 +20,9 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
     // Find all categories for a specific user
     List<Category> findByUserOrderByNameAsc(User user);
 
-    // Find all categories for a specific user ordered by creation timestamp (newest first)
-    List<Category> findByUserOrderByCreatedAtDesc(User user);
+    // Find all categories for a specific user ordered by creation timestamp (newest first), then by name
+    // for categories created together, such as those backfilled from existing transactions
+    List<Category> findByUserOrderByCreatedAtDescNameAsc(User user);
 
     // Find a category by name and user
     Optional<Category> findByUserAndName(User user, String name);
@@ -26,4 +32,21 @@ public interface CategoryRepository extends JpaRepository<Category, UUID> {
 
     // Check if category exists for user
     boolean existsByUserAndName(User user, String name);
+
+    // Count categories for a user
+    long countByUser(User user);
+
+    // Find the categories with the given names for a user
+    @Query("SELECT c FROM Category c WHERE c.user.userId = :userId AND c.name IN :names")
+    List<Category> findByUserIdAndNames(@Param("userId") UUID userId, @Param("names") Collection<String> names);
+
+    // Create a category unless the user already has one with that name; 0 means it existed
+    @Modifying
+    @Query(value = "INSERT INTO categories (categoryId, user_id, name, created_at, updated_at) " +
+                   "VALUES (:categoryId, :userId, :name, :now, :now) ON CONFLICT (user_id, name) DO NOTHING",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("categoryId") UUID categoryId,
+                       @Param("userId") UUID userId,
+                       @Param("name") String name,
+                       @Param("now") OffsetDateTime now);
 }
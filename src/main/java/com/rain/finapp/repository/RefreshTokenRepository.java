@@ -0,0 +1,39 @@
+package com.rain.finapp.repository;
+
+import com.rain.finapp.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, UUID> {
+
+    // Find a token by its hash, with the owning user loaded for minting the access token
+    @Query("SELECT t FROM RefreshToken t JOIN FETCH t.user WHERE t.tokenHash = :tokenHash")
+    Optional<RefreshToken> findByTokenHash(@Param("tokenHash") String tokenHash);
+
+    // Revoke one token if it is still active; 0 means it was already rotated or revoked
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.tokenId = :tokenId AND t.revokedAt IS NULL")
+    int revokeIfActive(@Param("tokenId") UUID tokenId, @Param("now") OffsetDateTime now);
+
+    // Revoke every still-active token descending from the same login
+    @Modifying
+    @Query("UPDATE RefreshToken t SET t.revokedAt = :now WHERE t.familyId = :familyId AND t.revokedAt IS NULL")
+    int revokeFamily(@Param("familyId") UUID familyId, @Param("now") OffsetDateTime now);
+
+    // Delete one batch of expired tokens, each batch in its own transaction
+    @Transactional
+    @Modifying
+    @Query(value = "DELETE FROM refresh_tokens WHERE tokenId IN " +
+                   "(SELECT tokenId FROM refresh_tokens WHERE expires_at < :cutoff LIMIT :batchSize)",
+           nativeQuery = true)
+    int deleteExpiredBatch(@Param("cutoff") OffsetDateTime cutoff, @Param("batchSize") int batchSize);
+}
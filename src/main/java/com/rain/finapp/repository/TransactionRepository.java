@@ -1,47 +1,102 @@
 package com.rain.finapp.repository;
 
+import com.rain.finapp.dto.ContentHashCount;
+import com.rain.finapp.dto.TransactionResponse;
+import com.rain.finapp.model.Category;
 import com.rain.finapp.model.Transaction;
 import com.rain.finapp.model.User;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.OffsetDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 @Repository
-public interface TransactionRepository extends JpaRepository<Transaction, UUID> {
+public interface TransactionRepository extends JpaRepository<Transaction, UUID>, TransactionRepositoryCustom {
 
-    // Find all transactions for a specific user
-    List<Transaction> findByUserOrderByTransactionDateDesc(User user);
+    // Find all transactions for a specific user, projected with the username and category name
+    @Query("SELECT new com.rain.finapp.dto.TransactionResponse(t.transactionId, u.userId, u.username, t.amount, c.name, " +
+           "t.transactionDate, t.description, t.type, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t JOIN t.user u JOIN t.category c WHERE u = :user ORDER BY t.transactionDate DESC")
+    List<TransactionResponse> findByUserOrderByTransactionDateDesc(@Param("user") User user);
 
     // Find transactions for a user within a date range
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate DESC")
-    List<Transaction> findByUserAndDateRange(@Param("user") User user, 
-                                           @Param("startDate") OffsetDateTime startDate, 
-                                           @Param("endDate") OffsetDateTime endDate);
+    @Query("SELECT new com.rain.finapp.dto.TransactionResponse(t.transactionId, u.userId, u.username, t.amount, c.name, " +
+           "t.transactionDate, t.description, t.type, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t JOIN t.user u JOIN t.category c WHERE u = :user " +
+           "AND t.transactionDate BETWEEN :startDate AND :endDate ORDER BY t.transactionDate DESC")
+    List<TransactionResponse> findByUserAndDateRange(@Param("user") User user,
+                                                     @Param("startDate") OffsetDateTime startDate,
+                                                     @Param("endDate") OffsetDateTime endDate);
 
-    // Find transactions for a user by category
-    List<Transaction> findByUserAndCategoryOrderByTransactionDateDesc(User user, String category);
+    // Find transactions for a user by category name
+    @Query("SELECT new com.rain.finapp.dto.TransactionResponse(t.transactionId, u.userId, u.username, t.amount, c.name, " +
+           "t.transactionDate, t.description, t.type, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t JOIN t.user u JOIN t.category c WHERE u = :user AND c.name = :category " +
+           "ORDER BY t.transactionDate DESC")
+    List<TransactionResponse> findByUserAndCategoryNameOrderByTransactionDateDesc(@Param("user") User user,
+                                                                                 @Param("category") String category);
 
     // Find a transaction by ID and user (for ownership verification)
+    @EntityGraph(attributePaths = "category")
     Optional<Transaction> findByTransactionIdAndUser(UUID transactionId, User user);
 
-    // Get distinct categories for a user
-    @Query("SELECT DISTINCT t.category FROM Transaction t WHERE t.user = :user ORDER BY t.category")
-    List<String> findDistinctCategoriesByUser(@Param("user") User user);
+    // Read one transaction by ID and user, projected like the listings
+    @Query("SELECT new com.rain.finapp.dto.TransactionResponse(t.transactionId, u.userId, u.username, t.amount, c.name, " +
+           "t.transactionDate, t.description, t.type, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t JOIN t.user u JOIN t.category c WHERE t.transactionId = :transactionId AND u = :user")
+    Optional<TransactionResponse> findResponseByTransactionIdAndUser(@Param("transactionId") UUID transactionId,
+                                                                     @Param("user") User user);
 
     // Count transactions by user
     long countByUser(User user);
 
     // Find recent transactions (last 30 days)
-    @Query("SELECT t FROM Transaction t WHERE t.user = :user AND t.transactionDate >= :thirtyDaysAgo ORDER BY t.transactionDate DESC")
-    List<Transaction> findRecentTransactionsByUser(@Param("user") User user, @Param("thirtyDaysAgo") OffsetDateTime thirtyDaysAgo);
+    @Query("SELECT new com.rain.finapp.dto.TransactionResponse(t.transactionId, u.userId, u.username, t.amount, c.name, " +
+           "t.transactionDate, t.description, t.type, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t JOIN t.user u JOIN t.category c WHERE u = :user AND t.transactionDate >= :thirtyDaysAgo " +
+           "ORDER BY t.transactionDate DESC")
+    List<TransactionResponse> findRecentTransactionsByUser(@Param("user") User user, @Param("thirtyDaysAgo") OffsetDateTime thirtyDaysAgo);
 
-    // Find transactions by user and category
-    List<Transaction> findTransactionsByUserAndCategory(User user, String category);
+    // Check if any transaction uses a category
+    boolean existsByUserAndCategory(User user, Category category);
 
+    // Count transactions in a category
+    long countByUserAndCategory(User user, Category category);
+
+    // Delete every transaction in a category in one statement
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("DELETE FROM Transaction t WHERE t.user = :user AND t.category = :category")
+    int deleteByUserAndCategory(@Param("user") User user, @Param("category") Category category);
+
+    // Keyset pagination: first page ordered by (transactionDate, transactionId), newest first
+    @Query("SELECT new com.rain.finapp.dto.TransactionResponse(t.transactionId, u.userId, u.username, t.amount, c.name, " +
+           "t.transactionDate, t.description, t.type, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t JOIN t.user u JOIN t.category c WHERE u = :user " +
+           "ORDER BY t.transactionDate DESC, t.transactionId DESC")
+    List<TransactionResponse> findPageByUser(@Param("user") User user, Limit limit);
+
+    // Keyset pagination: next page strictly after the given (transactionDate, transactionId) position
+    @Query("SELECT new com.rain.finapp.dto.TransactionResponse(t.transactionId, u.userId, u.username, t.amount, c.name, " +
+           "t.transactionDate, t.description, t.type, t.createdAt, t.updatedAt) " +
+           "FROM Transaction t JOIN t.user u JOIN t.category c WHERE u = :user " +
+           "AND (t.transactionDate < :afterDate OR (t.transactionDate = :afterDate AND t.transactionId < :afterId)) " +
+           "ORDER BY t.transactionDate DESC, t.transactionId DESC")
+    List<TransactionResponse> findPageByUserAfter(@Param("user") User user,
+                                                  @Param("afterDate") OffsetDateTime afterDate,
+                                                  @Param("afterId") UUID afterId,
+                                                  Limit limit);
+
+    // How many of a user's transactions have each of the given content hashes; hashes with none are left out
+    @Query("SELECT new com.rain.finapp.dto.ContentHashCount(t.contentHash, COUNT(t)) FROM Transaction t " +
+           "WHERE t.user.userId = :userId AND t.contentHash IN :hashes GROUP BY t.contentHash")
+    List<ContentHashCount> countByContentHashes(@Param("userId") UUID userId, @Param("hashes") Collection<String> hashes);
 }
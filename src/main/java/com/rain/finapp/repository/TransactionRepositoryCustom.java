@@ -0,0 +1,34 @@
+package com.rain.finapp.repository;
+
+import com.rain.finapp.dto.TransactionResponse;
+import com.rain.finapp.dto.TransactionSearchHit;
+import com.rain.finapp.dto.TransactionSearchCriteria;
+import com.rain.finapp.model.Transaction;
+import com.rain.finapp.model.User;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+public interface TransactionRepositoryCustom {
+
+    /**
+     * Forward-only cursor over a user's transactions, newest first, projected straight to DTOs.
+     * Null filters are left out of the query. The stream must be closed by the caller.
+     */
+    Stream<TransactionResponse> streamByUser(User user, OffsetDateTime startDate, OffsetDateTime endDate, String category);
+
+    /**
+     * Up to limit rows matching the specification in the given order, projected straight to DTOs.
+     * Keyset positions are expressed as part of the specification.
+     */
+    List<TransactionResponse> findPage(Specification<Transaction> spec, TransactionSearchCriteria.Sort sort, int limit);
+
+    /**
+     * Up to limit transactions whose description matches the web-style search query, best match first.
+     * afterRank and afterId continue from a previous page and are either both null or both set.
+     */
+    List<TransactionSearchHit> searchDescriptions(UUID userId, String query, Float afterRank, UUID afterId, int limit);
+}
@@ -0,0 +1,171 @@
+package com.rain.finapp.repository;
+
+import com.rain.finapp.dto.TransactionResponse;
+import com.rain.finapp.dto.TransactionSearchHit;
+import com.rain.finapp.dto.TransactionSearchCriteria;
+import com.rain.finapp.model.Transaction;
+import com.rain.finapp.model.TransactionType;
+import com.rain.finapp.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.web.util.HtmlUtils;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Hand-built queries for TransactionRepository that derived or @Query methods cannot express
+ */
+public class TransactionRepositoryImpl implements TransactionRepositoryCustom {
+
+    // Rows pulled per round trip; the PostgreSQL driver only honours this inside a transaction
+    private static final int STREAM_FETCH_SIZE = 1000;
+
+    // Whole description returned with every match marked; descriptions are at most 500 characters.
+    // ts_headline marks matches with control characters rather than tags, stripped from the description
+    // beforehand, so the rest of the text can be HTML-escaped before the marks become <mark> tags
+    private static final char MATCH_START = '\u0002';
+    private static final char MATCH_STOP = '\u0003';
+    private static final String HEADLINE_OPTIONS = "'HighlightAll=true, StartSel=' || chr(2) || ', StopSel=' || chr(3)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Stream<TransactionResponse> streamByUser(User user, OffsetDateTime startDate, OffsetDateTime endDate, String category) {
+        // Only the filters actually supplied go into the query, so PostgreSQL never has to type a null parameter
+        StringBuilder jpql = new StringBuilder(
+                "SELECT new com.rain.finapp.dto.TransactionResponse(t.transactionId, u.userId, u.username, t.amount, c.name, " +
+                "t.transactionDate, t.description, t.type, t.createdAt, t.updatedAt) " +
+                "FROM Transaction t JOIN t.user u JOIN t.category c WHERE u = :user");
+        if (startDate != null) {
+            jpql.append(" AND t.transactionDate >= :startDate");
+        }
+        if (endDate != null) {
+            jpql.append(" AND t.transactionDate <= :endDate");
+        }
+        if (category != null) {
+            jpql.append(" AND c.name = :category");
+        }
+        jpql.append(" ORDER BY t.transactionDate DESC, t.transactionId DESC");
+
+        TypedQuery<TransactionResponse> query = entityManager.createQuery(jpql.toString(), TransactionResponse.class)
+                .setParameter("user", user)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        if (startDate != null) {
+            query.setParameter("startDate", startDate);
+        }
+        if (endDate != null) {
+            query.setParameter("endDate", endDate);
+        }
+        if (category != null) {
+            query.setParameter("category", category);
+        }
+        return query.getResultStream();
+    }
+
+    @Override
+    public List<TransactionResponse> findPage(Specification<Transaction> spec, TransactionSearchCriteria.Sort sort, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TransactionResponse> query = cb.createQuery(TransactionResponse.class);
+        Root<Transaction> root = query.from(Transaction.class);
+        Join<Transaction, User> user = root.join("user");
+
+        query.select(cb.construct(TransactionResponse.class,
+                root.get("transactionId"), user.get("userId"), user.get("username"), root.get("amount"),
+                root.get("category").get("name"), root.get("transactionDate"), root.get("description"), root.get("type"),
+                root.get("createdAt"), root.get("updatedAt")));
+        query.where(spec.toPredicate(root, query, cb));
+
+        // Same column order as the keyset predicate, so the page boundary is exact
+        Path<Object> key = root.get(sort.isByAmount() ? "amount" : "transactionDate");
+        Path<Object> id = root.get("transactionId");
+        query.orderBy(sort.isDescending()
+                ? List.of(cb.desc(key), cb.desc(id))
+                : List.of(cb.asc(key), cb.asc(id)));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultList();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<TransactionSearchHit> searchDescriptions(UUID userId, String query, Float afterRank, UUID afterId, int limit) {
+        // Rank and page first using only the GIN index and the stored vector; ts_headline re-parses the
+        // description, so it runs in the outer query for the rows of this page only
+        String sql =
+                "SELECT p.transactionId AS transaction_id, u.username AS username, p.amount AS amount, " +
+                "c.name AS category, p.transactionDate AS transaction_date, p.description AS description, " +
+                "p.type AS type, p.created_at AS created_at, p.updated_at AS updated_at, p.rank AS rank, " +
+                "ts_headline('english', translate(p.description, chr(2) || chr(3), ''), " +
+                "websearch_to_tsquery('english', :query), " + HEADLINE_OPTIONS + ") AS highlight " +
+                "FROM (SELECT t.transactionId, t.user_id, t.amount, t.category_id, t.transactionDate, t.description, " +
+                "t.type, t.created_at, t.updated_at, ts_rank(t.description_tsv, q.query) AS rank " +
+                "FROM transactions t, websearch_to_tsquery('english', :query) AS q(query) " +
+                "WHERE t.user_id = :userId AND t.description_tsv @@ q.query" +
+                (afterRank != null
+                        ? " AND (ts_rank(t.description_tsv, q.query), t.transactionId) < (CAST(:afterRank AS real), :afterId)"
+                        : "") +
+                " ORDER BY rank DESC, t.transactionId DESC LIMIT :limit) p " +
+                "JOIN users u ON u.userId = p.user_id " +
+                "JOIN categories c ON c.categoryId = p.category_id " +
+                "ORDER BY p.rank DESC, p.transactionId DESC";
+
+        Query nativeQuery = entityManager.createNativeQuery(sql)
+                .setParameter("query", query)
+                .setParameter("userId", userId)
+                .setParameter("limit", limit);
+        if (afterRank != null) {
+            nativeQuery.setParameter("afterRank", afterRank).setParameter("afterId", afterId);
+        }
+        List<Object[]> rows = nativeQuery.unwrap(NativeQuery.class)
+                .addScalar("transaction_id", UUID.class)
+                .addScalar("username", String.class)
+                .addScalar("amount", BigDecimal.class)
+                .addScalar("category", String.class)
+                .addScalar("transaction_date", OffsetDateTime.class)
+                .addScalar("description", String.class)
+                .addScalar("type", String.class)
+                .addScalar("created_at", OffsetDateTime.class)
+                .addScalar("updated_at", OffsetDateTime.class)
+                .addScalar("rank", Float.class)
+                .addScalar("highlight", String.class)
+                .setReadOnly(true)
+                .getResultList();
+
+        return rows.stream()
+                .map(row -> new TransactionSearchHit(
+                        new TransactionResponse((UUID) row[0], userId, (String) row[1], (BigDecimal) row[2],
+                                (String) row[3], (OffsetDateTime) row[4], (String) row[5],
+                                row[6] != null ? TransactionType.valueOf((String) row[6]) : null,
+                                (OffsetDateTime) row[7], (OffsetDateTime) row[8]),
+                        (Float) row[9],
+                        markMatches((String) row[10])))
+                .toList();
+    }
+
+    private static String markMatches(String headline) {
+        if (headline == null) {
+            return null;
+        }
+        return HtmlUtils.htmlEscape(headline)
+                .replace(String.valueOf(MATCH_START), "<mark>")
+                .replace(String.valueOf(MATCH_STOP), "</mark>");
+    }
+}
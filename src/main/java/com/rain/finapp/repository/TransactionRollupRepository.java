@@ -0,0 +1,108 @@
+package com.rain.finapp.repository;
+
+import com.rain.finapp.dto.BudgetTotals;
+import com.rain.finapp.dto.CategorySpending;
+import com.rain.finapp.model.TransactionRollup;
+import com.rain.finapp.model.TransactionRollupId;
+import com.rain.finapp.model.TransactionType;
+import com.rain.finapp.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface TransactionRollupRepository extends JpaRepository<TransactionRollup, TransactionRollupId> {
+
+    // Add a delta to one rollup bucket, creating it if missing (negative deltas reverse a transaction)
+    @Modifying
+    @Query(value = "INSERT INTO transaction_rollups (user_id, period_start, category, type, total_amount, transaction_count, updated_at) " +
+                   "VALUES (:userId, :periodStart, :category, :type, :amount, :count, now()) " +
+                   "ON CONFLICT (user_id, period_start, category, type) DO UPDATE SET " +
+                   "total_amount = transaction_rollups.total_amount + EXCLUDED.total_amount, " +
+                   "transaction_count = transaction_rollups.transaction_count + EXCLUDED.transaction_count, " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    int applyDelta(@Param("userId") UUID userId,
+                   @Param("periodStart") LocalDate periodStart,
+                   @Param("category") String category,
+                   @Param("type") String type,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") long count);
+
+    // Fold every bucket of one category into another (the target may already have buckets of its own)
+    @Modifying
+    @Query(value = "INSERT INTO transaction_rollups (user_id, period_start, category, type, total_amount, transaction_count, updated_at) " +
+                   "SELECT user_id, period_start, :newName, type, total_amount, transaction_count, now() " +
+                   "FROM transaction_rollups WHERE user_id = :userId AND category = :oldName " +
+                   "ON CONFLICT (user_id, period_start, category, type) DO UPDATE SET " +
+                   "total_amount = transaction_rollups.total_amount + EXCLUDED.total_amount, " +
+                   "transaction_count = transaction_rollups.transaction_count + EXCLUDED.transaction_count, " +
+                   "updated_at = now()",
+           nativeQuery = true)
+    int mergeCategory(@Param("userId") UUID userId, @Param("oldName") String oldName, @Param("newName") String newName);
+
+    // Remove all buckets of a category for a user
+    @Modifying
+    @Query(value = "DELETE FROM transaction_rollups WHERE user_id = :userId AND category = :category", nativeQuery = true)
+    int deleteByUserAndCategory(@Param("userId") UUID userId, @Param("category") String category);
+
+    // Remove all buckets for a user
+    @Modifying
+    @Query(value = "DELETE FROM transaction_rollups WHERE user_id = :userId", nativeQuery = true)
+    int deleteByUser(@Param("userId") UUID userId);
+
+    // Recompute all buckets for a user from the transactions table; buckets stay keyed by category name
+    @Modifying
+    @Query(value = "INSERT INTO transaction_rollups (user_id, period_start, category, type, total_amount, transaction_count, updated_at) " +
+                   "SELECT t.user_id, CAST(date_trunc('month', t.transactionDate AT TIME ZONE 'UTC') AS date), c.name, " +
+                   "COALESCE(t.type, 'EXPENSE'), SUM(t.amount), COUNT(*), now() " +
+                   "FROM transactions t JOIN categories c ON c.categoryId = t.category_id " +
+                   "WHERE t.user_id = :userId GROUP BY 1, 2, 3, 4",
+           nativeQuery = true)
+    int rebuildForUser(@Param("userId") UUID userId);
+
+    // Users whose rollup buckets disagree with the ledger (missing, extra, or wrong totals)
+    @Query(value = "SELECT DISTINCT COALESCE(l.user_id, r.user_id) FROM " +
+                   "(SELECT t.user_id, CAST(date_trunc('month', t.transactionDate AT TIME ZONE 'UTC') AS date) AS period_start, " +
+                   "c.name AS category, COALESCE(t.type, 'EXPENSE') AS type, SUM(t.amount) AS total_amount, " +
+                   "COUNT(*) AS transaction_count " +
+                   "FROM transactions t JOIN categories c ON c.categoryId = t.category_id GROUP BY 1, 2, 3, 4) l " +
+                   "FULL OUTER JOIN (SELECT * FROM transaction_rollups WHERE transaction_count <> 0 OR total_amount <> 0) r " +
+                   "ON l.user_id = r.user_id AND l.period_start = r.period_start AND l.category = r.category AND l.type = r.type " +
+                   "WHERE l.user_id IS NULL OR r.user_id IS NULL " +
+                   "OR l.total_amount <> r.total_amount OR l.transaction_count <> r.transaction_count",
+           nativeQuery = true)
+    List<UUID> findUsersWithDrift();
+
+    // Drop buckets whose transactions have all been deleted
+    @Modifying
+    @Query(value = "DELETE FROM transaction_rollups WHERE transaction_count = 0 AND total_amount = 0", nativeQuery = true)
+    int deleteEmptyBuckets();
+
+    // Income/expense totals (all time and for one month) plus transaction count, summed over rollup buckets
+    @Query("SELECT new com.rain.finapp.dto.BudgetTotals(" +
+           "SUM(r.totalAmount) FILTER (WHERE r.id.type = :income), " +
+           "SUM(r.totalAmount) FILTER (WHERE r.id.type <> :income), " +
+           "SUM(r.totalAmount) FILTER (WHERE r.id.type = :income AND r.id.periodStart = :month), " +
+           "SUM(r.totalAmount) FILTER (WHERE r.id.type <> :income AND r.id.periodStart = :month), " +
+           "SUM(r.transactionCount)) " +
+           "FROM TransactionRollup r WHERE r.id.userId = :userId")
+    BudgetTotals summarizeByUser(@Param("userId") UUID userId,
+                                 @Param("income") TransactionType income,
+                                 @Param("month") LocalDate month);
+
+    // Budgeted categories with their all-time total for the given type
+    @Query("SELECT new com.rain.finapp.dto.CategorySpending(c.name, c.budget, SUM(r.totalAmount)) " +
+           "FROM Category c LEFT JOIN TransactionRollup r " +
+           "ON r.id.userId = c.user.userId AND r.id.category = c.name AND r.id.type = :type " +
+           "WHERE c.user = :user AND c.budget > 0 " +
+           "GROUP BY c.name, c.budget ORDER BY c.name")
+    List<CategorySpending> sumBudgetedCategorySpending(@Param("user") User user, @Param("type") TransactionType type);
+}
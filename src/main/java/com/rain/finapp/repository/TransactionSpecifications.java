@@ -0,0 +1,119 @@
+package com.rain.finapp.repository;
+
+import com.rain.finapp.dto.TransactionSearchCriteria;
+import com.rain.finapp.model.Transaction;
+import com.rain.finapp.model.TransactionType;
+import com.rain.finapp.model.User;
+import com.rain.finapp.util.SortKeyCursor;
+import jakarta.persistence.criteria.Path;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Composable filters for transaction searches. Each one maps to a single predicate, so any
+ * combination still runs as one query against the user's rows.
+ */
+public final class TransactionSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private TransactionSpecifications() {
+    }
+
+    /**
+     * Every filter set in the criteria, scoped to the user
+     */
+    public static Specification<Transaction> matching(User user, TransactionSearchCriteria criteria) {
+        List<Specification<Transaction>> filters = new ArrayList<>();
+        filters.add(belongsTo(user));
+        if (criteria.getStartDate() != null) {
+            filters.add(onOrAfter(criteria.getStartDate()));
+        }
+        if (criteria.getEndDate() != null) {
+            filters.add(onOrBefore(criteria.getEndDate()));
+        }
+        if (!criteria.getCategories().isEmpty()) {
+            filters.add(inCategories(criteria.getCategories()));
+        }
+        if (criteria.getType() != null) {
+            filters.add(ofType(criteria.getType()));
+        }
+        if (criteria.getMinAmount() != null) {
+            filters.add(amountAtLeast(criteria.getMinAmount()));
+        }
+        if (criteria.getMaxAmount() != null) {
+            filters.add(amountAtMost(criteria.getMaxAmount()));
+        }
+        if (criteria.getText() != null) {
+            filters.add(descriptionContains(criteria.getText()));
+        }
+        return Specification.allOf(filters);
+    }
+
+    public static Specification<Transaction> belongsTo(User user) {
+        return (root, query, cb) -> cb.equal(root.get("user"), user);
+    }
+
+    public static Specification<Transaction> onOrAfter(OffsetDateTime startDate) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("transactionDate"), startDate);
+    }
+
+    public static Specification<Transaction> onOrBefore(OffsetDateTime endDate) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("transactionDate"), endDate);
+    }
+
+    public static Specification<Transaction> inCategories(Collection<String> categories) {
+        return (root, query, cb) -> root.get("category").get("name").in(categories);
+    }
+
+    public static Specification<Transaction> ofType(TransactionType type) {
+        return (root, query, cb) -> cb.equal(root.get("type"), type);
+    }
+
+    public static Specification<Transaction> amountAtLeast(BigDecimal minAmount) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("amount"), minAmount);
+    }
+
+    public static Specification<Transaction> amountAtMost(BigDecimal maxAmount) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("amount"), maxAmount);
+    }
+
+    // Case-insensitive substring match; LIKE wildcards typed by the user are matched literally
+    public static Specification<Transaction> descriptionContains(String text) {
+        String pattern = "%" + text.toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(cb.lower(root.get("description")), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Rows strictly after the cursor position in the given order
+     */
+    public static Specification<Transaction> after(TransactionSearchCriteria.Sort sort, SortKeyCursor cursor) {
+        return sort.isByAmount()
+                ? after(sort.isDescending(), "amount", cursor.getAmountKey(), cursor.getTransactionId())
+                : after(sort.isDescending(), "transactionDate", cursor.getDateKey(), cursor.getTransactionId());
+    }
+
+    private static <K extends Comparable<? super K>> Specification<Transaction> after(
+            boolean descending, String keyAttribute, K key, UUID transactionId) {
+        return (root, query, cb) -> {
+            Path<K> keyPath = root.get(keyAttribute);
+            Path<UUID> idPath = root.get("transactionId");
+            if (descending) {
+                return cb.or(cb.lessThan(keyPath, key),
+                        cb.and(cb.equal(keyPath, key), cb.lessThan(idPath, transactionId)));
+            }
+            return cb.or(cb.greaterThan(keyPath, key),
+                    cb.and(cb.equal(keyPath, key), cb.greaterThan(idPath, transactionId)));
+        };
+    }
+}
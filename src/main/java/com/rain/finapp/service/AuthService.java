@@ -2,23 +2,36 @@ package com.rain.finapp.service;
 
 import com.rain.finapp.model.User;
 import com.rain.finapp.repository.UserRepository;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import io.micrometer.observation.annotation.Observed;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import java.util.Optional;
 
 @Service
+@Observed(name = "finapp.auth")
 public class AuthService {
+    private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
+
     private final UserRepository userRepository;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
+    private final PasswordHashingService passwordHashing;
     private final com.rain.finapp.util.JwtUtil jwtUtil;
+    private final RefreshTokenService refreshTokenService;
 
-    public AuthService(UserRepository userRepository, com.rain.finapp.util.JwtUtil jwtUtil) {
+    public AuthService(UserRepository userRepository, PasswordHashingService passwordHashing,
+                       com.rain.finapp.util.JwtUtil jwtUtil, RefreshTokenService refreshTokenService) {
         this.userRepository = userRepository;
+        this.passwordHashing = passwordHashing;
         this.jwtUtil = jwtUtil;
+        this.refreshTokenService = refreshTokenService;
+    }
+
+    /** Access JWT plus the refresh token that can renew it; no refresh token means keep the current one */
+    public record Tokens(String accessToken, String refreshToken) {
     }
 
     public User register(String username, String email, String password) {
-        String hashedPassword = passwordEncoder.encode(password);
+        String hashedPassword = passwordHashing.encode(password);
         User user = new User();
         user.setUsername(username);
         user.setEmail(email);
@@ -26,14 +39,44 @@ public class AuthService {
         return userRepository.save(user);
     }
 
-    public String login(String username, String password) {
+    public Tokens login(String username, String password) {
         Optional<User> userOpt = userRepository.findByUsername(username);
         if (userOpt.isPresent()) {
             User user = userOpt.get();
-            if (passwordEncoder.matches(password, user.getPassword())) {
-                return jwtUtil.generateToken(user.getUserId(), user.getUsername());
+            if (passwordHashing.matches(password, user.getPassword())) {
+                rehashIfNeeded(user, password);
+                return new Tokens(jwtUtil.generateToken(user.getUserId(), user.getUsername()),
+                        refreshTokenService.issue(user));
             }
         }
         return null;
     }
+
+    /**
+     * Mint a new access token from a refresh token, rotating the refresh token unless it was rotated
+     * moments ago by a concurrent refresh; no password check
+     * @return empty if the refresh token is not valid
+     */
+    public Optional<Tokens> refresh(String refreshToken) {
+        return refreshTokenService.rotate(refreshToken)
+                .map(rotation -> new Tokens(jwtUtil.generateToken(rotation.userId(), rotation.username()),
+                        rotation.refreshToken()));
+    }
+
+    public void logout(String refreshToken) {
+        refreshTokenService.revoke(refreshToken);
+    }
+
+    // The plain password is only available at login, so that is when a hash moves to the configured cost
+    private void rehashIfNeeded(User user, String password) {
+        if (!passwordHashing.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            userRepository.updatePasswordHash(user.getUserId(), user.getPassword(), passwordHashing.encode(password));
+        } catch (PasswordHashingService.BusyException e) {
+            // The login itself succeeded; try again on the next one rather than fail it
+            logger.debug("Skipped rehash for user {}: {}", user.getUserId(), e.getMessage());
+        }
+    }
 }
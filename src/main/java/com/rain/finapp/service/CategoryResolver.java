@@ -0,0 +1,78 @@
+package com.rain.finapp.service;
+
+import com.rain.finapp.model.Category;
+import com.rain.finapp.repository.CategoryRepository;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Turns the category names on incoming transactions into category rows, creating the ones a user
+ * does not have yet. Creation is an insert that skips existing names, so concurrent writers
+ * naming the same new category end up sharing one row. Must be called inside a transaction.
+ */
+@Component
+public class CategoryResolver {
+
+    private final CategoryRepository categoryRepository;
+    private final LedgerVersions ledgerVersions;
+
+    public CategoryResolver(CategoryRepository categoryRepository, LedgerVersions ledgerVersions) {
+        this.categoryRepository = categoryRepository;
+        this.ledgerVersions = ledgerVersions;
+    }
+
+    /**
+     * Get the category with the given name, creating it if needed
+     */
+    public Category resolve(UUID userId, String name) {
+        return resolve(userId, Set.of(name)).get(name);
+    }
+
+    /**
+     * Get the categories with the given names, creating the missing ones
+     * @return the categories keyed by name
+     */
+    public Map<String, Category> resolve(UUID userId, Collection<String> names) {
+        Map<String, Category> categories = new HashMap<>();
+        if (names.isEmpty()) {
+            return categories;
+        }
+        Set<String> missing = new LinkedHashSet<>(names);
+        for (Category category : categoryRepository.findByUserIdAndNames(userId, missing)) {
+            categories.put(category.getName(), category);
+        }
+        missing.removeAll(categories.keySet());
+        // Usually every name exists already, so the insert is only attempted for the rest
+        if (!missing.isEmpty()) {
+            createMissing(userId, missing);
+            for (Category category : categoryRepository.findByUserIdAndNames(userId, missing)) {
+                categories.put(category.getName(), category);
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * Create the categories the user does not have yet
+     * @return the number of categories created
+     */
+    public int createMissing(UUID userId, Collection<String> names) {
+        OffsetDateTime now = OffsetDateTime.now();
+        int created = 0;
+        for (String name : new LinkedHashSet<>(names)) {
+            created += categoryRepository.insertIfAbsent(UUID.randomUUID(), userId, name, now);
+        }
+        // The cached category lists are keyed by ledger version
+        if (created > 0) {
+            ledgerVersions.bump(userId);
+        }
+        return created;
+    }
+}
@@ -1,9 +1,12 @@
 /* */
 package com.rain.finapp.service;
 
+import com.rain.finapp.config.CacheConfig;
+import com.rain.finapp.dto.AuthenticatedUser;
 import com.rain.finapp.model.User;
 import com.rain.finapp.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -11,6 +14,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.security.core.userdetails.User.UserBuilder;
 
 import java.util.Optional;
+import java.util.UUID;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
@@ -34,4 +38,15 @@ public class CustomUserDetailsService implements UserDetailsService {
         
         return builder.build();
     }
+
+    /**
+     * Resolve the principal for a JWT subject. Cached in "users" so authenticated
+     * requests do not read the users table every time.
+     */
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#userId")
+    public AuthenticatedUser loadUserById(UUID userId) throws UsernameNotFoundException {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found: " + userId));
+        return new AuthenticatedUser(user.getUserId(), user.getUsername());
+    }
 }
@@ -0,0 +1,76 @@
+package com.rain.finapp.service;
+
+import com.rain.finapp.dto.DashboardResponse;
+import com.rain.finapp.dto.TransactionResponse;
+import com.rain.finapp.model.Category;
+import com.rain.finapp.model.User;
+import com.rain.finapp.repository.CategoryRepository;
+import com.rain.finapp.repository.UserRepository;
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Builds the dashboard's initial view in one read-only REPEATABLE READ transaction, so every part
+ * comes from the snapshot taken by its first query, on one connection. The TransactionService reads
+ * join that transaction, and the categories are read in it too rather than from their cache, which
+ * may hold a list from an earlier snapshot. Parts that overlap are derived from what is already
+ * loaded instead of being queried again.
+ */
+@Service
+@Observed(name = "finapp.dashboard")
+public class DashboardService {
+
+    private final UserRepository userRepository;
+    private final CategoryRepository categoryRepository;
+    private final TransactionService transactionService;
+
+    public DashboardService(UserRepository userRepository, CategoryRepository categoryRepository,
+                            TransactionService transactionService) {
+        this.userRepository = userRepository;
+        this.categoryRepository = categoryRepository;
+        this.transactionService = transactionService;
+    }
+
+    /**
+     * Get the user, budgets, transactions and categories for the dashboard
+     */
+    @Transactional(readOnly = true, isolation = Isolation.REPEATABLE_READ)
+    public DashboardResponse getDashboard(UUID userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found with id: " + userId));
+
+        List<TransactionResponse> transactions = transactionService.getAllTransactions(userId);
+
+        // Same cut-off as GET /api/transactions/recent, taken from the full list (already newest first)
+        OffsetDateTime thirtyDaysAgo = OffsetDateTime.now().minusDays(30);
+        List<TransactionResponse> recent = transactions.stream()
+                .filter(transaction -> !transaction.getTransactionDate().isBefore(thirtyDaysAgo))
+                .toList();
+
+        // Same order as GET /api/categories; its size is the category count, since the list is every category row
+        List<String> categories = categoryRepository.findByUserOrderByCreatedAtDescNameAsc(user).stream()
+                .map(Category::getName)
+                .toList();
+        Map<String, TransactionService.CategoryBudgetInfo> categoryBudgets = transactionService.getCategoryBudgets(userId);
+
+        return new DashboardResponse(
+                user.getUserId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getMonthlyBudget() != null ? user.getMonthlyBudget() : BigDecimal.ZERO,
+                transactions,
+                recent,
+                categories,
+                categories.size(),
+                categoryBudgets
+        );
+    }
+}
@@ -0,0 +1,73 @@
+package com.rain.finapp.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.security.SecureRandom;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-user version of everything the dashboard reads: transactions, categories, budgets.
+ * Every write bumps it once its transaction commits, and read endpoints send it as their ETag,
+ * so a poll with a matching If-None-Match is answered from memory without touching the database.
+ * The category list cache is keyed by it too, so a bump retires the cached list along with the ETag.
+ */
+@Component
+public class LedgerVersions {
+
+    /** Clients may keep a tagged response but must revalidate it on every use */
+    public static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    // Part of every ETag, so tags from before a restart or from another instance never match here
+    private final String instanceId = Long.toString(new SecureRandom().nextLong() & Long.MAX_VALUE, 36);
+    private final AtomicLong nextVersion = new AtomicLong();
+
+    // A user missing from the cache (never seen, or evicted) gets a fresh version: one full response, never a stale 304
+    private final Cache<UUID, Long> versions;
+
+    public LedgerVersions(@Value("${ledger-versions.cache-max-size:100000}") long maxSize) {
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Strong ETag for the user's current ledger. Read it before running the query it tags, so that a
+     * write committing in between leaves the response with the older tag.
+     * The UTC date is part of it because the recent list and the monthly budgets also move with the calendar.
+     */
+    public String etag(UUID userId) {
+        return "\"" + instanceId + "." + current(userId) + "." + LocalDate.now(ZoneOffset.UTC).toEpochDay() + "\"";
+    }
+
+    /**
+     * The user's current version, also part of the cache key for their category list
+     */
+    public long current(UUID userId) {
+        return versions.get(userId, id -> nextVersion.incrementAndGet());
+    }
+
+    /**
+     * Move the user to a new version when the current transaction commits, or now outside one
+     */
+    public void bump(UUID userId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    versions.put(userId, nextVersion.incrementAndGet());
+                }
+            });
+        } else {
+            versions.put(userId, nextVersion.incrementAndGet());
+        }
+    }
+}
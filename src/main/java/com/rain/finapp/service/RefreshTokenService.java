@@ -1,5 +1,261 @@
 package com.rain.finapp.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rain.finapp.config.AuthConfig;
+import com.rain.finapp.model.RefreshToken;
+import com.rain.finapp.model.User;
+import com.rain.finapp.repository.RefreshTokenRepository;
+import com.rain.finapp.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Issues and rotates refresh tokens. Each refresh revokes the presented token and issues a new one
+ * in the same family; presenting a token that was already rotated revokes the whole family, since
+ * one of the two holders must have stolen it. The exception is a token rotated within the reuse
+ * grace whose successor is still active: that is most likely another tab refreshing with the same
+ * cookie, so it may renew its access token, but it gets no refresh token. The tab keeps the cookie the
+ * rotation set, and a stolen token replayed within the grace cannot be turned into a live one.
+ */
+@Service
 public class RefreshTokenService {
-    
+    private static final Logger logger = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final UserRepository userRepository;
+    private final AuthConfig authConfig;
+    private final Duration refreshExpiration;
+    private final SecureRandom secureRandom = new SecureRandom();
+
+    // Active tokens by hash, so a refresh skips the lookup query; rotated and revoked tokens are removed
+    private final Cache<String, ActiveToken> activeTokens;
+    // Rotations committed within the reuse grace, by the hash of the token they replaced. Only hashes
+    // are kept: the successor itself went to the client that rotated and is never handed out again
+    private final Cache<String, RecentRotation> recentRotations;
+
+    public RefreshTokenService(RefreshTokenRepository refreshTokenRepository,
+                               UserRepository userRepository,
+                               AuthConfig authConfig,
+                               @Value("${jwt.refresh-expiration:604800000}") long refreshExpirationMs) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.userRepository = userRepository;
+        this.authConfig = authConfig;
+        this.refreshExpiration = Duration.ofMillis(refreshExpirationMs);
+        this.activeTokens = Caffeine.newBuilder()
+                .maximumSize(authConfig.getCacheMaxSize())
+                .expireAfterWrite(refreshExpiration)
+                .build();
+        this.recentRotations = Caffeine.newBuilder()
+                .maximumSize(authConfig.getCacheMaxSize())
+                .expireAfterWrite(authConfig.getReuseGrace())
+                .build();
+    }
+
+    /** Snapshot of a stored token, enough to mint an access token without loading the user */
+    public record ActiveToken(UUID tokenId, UUID userId, String username, UUID familyId, OffsetDateTime expiresAt) {
+    }
+
+    /**
+     * Result of a successful rotation: who the token belongs to and the token that replaces it. The
+     * refresh token is null for a token already rotated within the reuse grace: the client only gets a
+     * new access token and keeps the refresh token that rotation issued.
+     */
+    public record Rotation(UUID userId, String username, String refreshToken) {
+    }
+
+    private record RecentRotation(UUID userId, String username, String successorHash) {
+    }
+
+    /**
+     * Start a new token family for a fresh login
+     * @return the raw token to hand to the client
+     */
+    @Transactional
+    public String issue(User user) {
+        return store(user.getUserId(), user.getUsername(), UUID.randomUUID());
+    }
+
+    /**
+     * Exchange a refresh token for a new one
+     * @return empty if the token is unknown, expired, revoked or a replay of an already-rotated token
+     */
+    @Transactional
+    public Optional<Rotation> rotate(String rawToken) {
+        String tokenHash = hash(rawToken);
+        Optional<Rotation> concurrent = recentRotation(tokenHash);
+        if (concurrent.isPresent()) {
+            return concurrent;
+        }
+
+        ActiveToken token = lookup(tokenHash);
+        if (token == null) {
+            // Unknown, a replay, or rotated by a concurrent refresh that committed since the check above
+            return recentRotation(tokenHash);
+        }
+
+        OffsetDateTime now = OffsetDateTime.now();
+        if (!token.expiresAt().isAfter(now)) {
+            activeTokens.invalidate(tokenHash);
+            return Optional.empty();
+        }
+
+        activeTokens.invalidate(tokenHash);
+        if (refreshTokenRepository.revokeIfActive(token.tokenId(), now) == 0) {
+            // Rotated or revoked elsewhere since it was cached. A concurrent rotation has committed by
+            // now (the update waited for its row lock), so it is found if it was one
+            concurrent = recentRotation(tokenHash);
+            if (concurrent.isPresent()) {
+                return concurrent;
+            }
+            revokeFamily(token.familyId(), now);
+            return Optional.empty();
+        }
+
+        String replacement = store(token.userId(), token.username(), token.familyId());
+        // Recorded before the commit that makes the old token revoked, so a concurrent rotate that sees
+        // the revocation always finds it; withdrawn if this transaction does not commit
+        recentRotations.put(tokenHash, new RecentRotation(token.userId(), token.username(), hash(replacement)));
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    recentRotations.invalidate(tokenHash);
+                }
+            }
+        });
+        return Optional.of(new Rotation(token.userId(), token.username(), replacement));
+    }
+
+    /**
+     * Revoke the family of the given token, e.g. on logout. Unknown tokens are ignored.
+     */
+    @Transactional
+    public void revoke(String rawToken) {
+        String tokenHash = hash(rawToken);
+        ActiveToken cached = activeTokens.getIfPresent(tokenHash);
+        UUID familyId = cached != null
+                ? cached.familyId()
+                : refreshTokenRepository.findByTokenHash(tokenHash).map(RefreshToken::getFamilyId).orElse(null);
+        if (familyId != null) {
+            revokeFamily(familyId, OffsetDateTime.now());
+        }
+    }
+
+    /**
+     * Delete expired tokens in batches, each in its own short transaction
+     * @return the number of tokens deleted
+     */
+    public int purgeExpired() {
+        OffsetDateTime cutoff = OffsetDateTime.now();
+        int batchSize = authConfig.getPurgeBatchSize();
+        int total = 0;
+        int deleted;
+        do {
+            deleted = refreshTokenRepository.deleteExpiredBatch(cutoff, batchSize);
+            total += deleted;
+        } while (deleted == batchSize);
+        if (total > 0) {
+            logger.info("Purged {} expired refresh tokens", total);
+        }
+        return total;
+    }
+
+    public Duration getRefreshExpiration() {
+        return refreshExpiration;
+    }
+
+    // An access-only renewal if this token was rotated within the grace and its successor is committed and
+    // still active; a successor rotated or revoked since makes this a replay after all
+    private Optional<Rotation> recentRotation(String tokenHash) {
+        RecentRotation rotation = recentRotations.getIfPresent(tokenHash);
+        if (rotation == null) {
+            return Optional.empty();
+        }
+        String successorHash = rotation.successorHash();
+        boolean successorActive = activeTokens.getIfPresent(successorHash) != null
+                || refreshTokenRepository.findByTokenHash(successorHash)
+                        .filter(successor -> successor.getRevokedAt() == null)
+                        .isPresent();
+        return successorActive
+                ? Optional.of(new Rotation(rotation.userId(), rotation.username(), null))
+                : Optional.empty();
+    }
+
+    // Cached active token, or the stored one; a stored token that is already revoked is a replay, unless
+    // a rotation within the grace revoked it
+    private ActiveToken lookup(String tokenHash) {
+        ActiveToken cached = activeTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached;
+        }
+
+        Optional<RefreshToken> stored = refreshTokenRepository.findByTokenHash(tokenHash);
+        if (stored.isEmpty()) {
+            return null;
+        }
+        RefreshToken token = stored.get();
+        if (token.getRevokedAt() != null) {
+            if (token.getExpiresAt().isAfter(OffsetDateTime.now()) && recentRotation(tokenHash).isEmpty()) {
+                logger.warn("Rotated refresh token replayed for user {}, revoking its family", token.getUser().getUserId());
+                revokeFamily(token.getFamilyId(), OffsetDateTime.now());
+            }
+            return null;
+        }
+
+        // Not cached: it is about to be rotated or revoked
+        return new ActiveToken(token.getTokenId(), token.getUser().getUserId(),
+                token.getUser().getUsername(), token.getFamilyId(), token.getExpiresAt());
+    }
+
+    private String store(UUID userId, String username, UUID familyId) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        secureRandom.nextBytes(bytes);
+        String rawToken = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+
+        RefreshToken token = refreshTokenRepository.save(new RefreshToken(userRepository.getReferenceById(userId),
+                hash(rawToken), familyId, OffsetDateTime.now().plus(refreshExpiration)));
+        ActiveToken active = new ActiveToken(token.getTokenId(), userId, username, familyId, token.getExpiresAt());
+
+        // Each token is presented exactly once, so caching it at issue time is what saves the lookup query
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                activeTokens.put(token.getTokenHash(), active);
+            }
+        });
+        return rawToken;
+    }
+
+    private void revokeFamily(UUID familyId, OffsetDateTime now) {
+        refreshTokenRepository.revokeFamily(familyId, now);
+        activeTokens.asMap().values().removeIf(active -> active.familyId().equals(familyId));
+    }
+
+    private static String hash(String rawToken) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(rawToken.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
 }
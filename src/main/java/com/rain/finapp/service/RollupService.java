@@ -0,0 +1,140 @@
+package com.rain.finapp.service;
+
+import com.rain.finapp.model.Transaction;
+import com.rain.finapp.model.TransactionRollupId;
+import com.rain.finapp.model.TransactionType;
+import com.rain.finapp.repository.TransactionRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps the transaction_rollups table in step with the ledger.
+ * Every method joins the caller's transaction, so a ledger write and its rollup delta commit or roll back together.
+ */
+@Service
+@Transactional
+public class RollupService {
+
+    private static final Logger log = LoggerFactory.getLogger(RollupService.class);
+
+    private final TransactionRollupRepository rollupRepository;
+
+    public RollupService(TransactionRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * Add a newly written transaction to its bucket
+     */
+    public void record(Transaction transaction) {
+        apply(transaction.getUser().getUserId(), transaction.getTransactionDate(), transaction.getCategory().getName(),
+                transaction.getType(), transaction.getAmount(), 1);
+    }
+
+    /**
+     * Add a batch of newly written transactions, issuing one upsert per touched bucket rather than per row
+     */
+    public void recordAll(UUID userId, List<Transaction> transactions) {
+        for (Map.Entry<TransactionRollupId, BucketTotals> entry : sumByBucket(userId, transactions).entrySet()) {
+            TransactionRollupId bucket = entry.getKey();
+            rollupRepository.applyDelta(userId, bucket.getPeriodStart(), bucket.getCategory(),
+                    bucket.getType().name(), entry.getValue().amount(), entry.getValue().count());
+        }
+    }
+
+    /**
+     * Amount and count per rollup bucket for a set of transactions, summed in memory
+     */
+    static Map<TransactionRollupId, BucketTotals> sumByBucket(UUID userId, List<Transaction> transactions) {
+        Map<TransactionRollupId, BucketTotals> totals = new HashMap<>();
+        for (Transaction transaction : transactions) {
+            TransactionType type = transaction.getType() != null ? transaction.getType() : TransactionType.EXPENSE;
+            TransactionRollupId bucket = new TransactionRollupId(
+                    userId, monthOf(transaction.getTransactionDate()), transaction.getCategory().getName(), type);
+            totals.merge(bucket, new BucketTotals(transaction.getAmount(), 1), BucketTotals::plus);
+        }
+        return totals;
+    }
+
+    record BucketTotals(BigDecimal amount, long count) {
+        BucketTotals plus(BucketTotals other) {
+            return new BucketTotals(amount.add(other.amount), count + other.count);
+        }
+    }
+
+    /**
+     * Remove a transaction's previous values from their bucket (before a delete or an update)
+     */
+    public void reverse(UUID userId, OffsetDateTime transactionDate, String category, TransactionType type, BigDecimal amount) {
+        apply(userId, transactionDate, category, type, amount.negate(), -1);
+    }
+
+    /**
+     * Move every bucket of a category to its new name
+     */
+    public void renameCategory(UUID userId, String currentName, String newName) {
+        rollupRepository.mergeCategory(userId, currentName, newName);
+        rollupRepository.deleteByUserAndCategory(userId, currentName);
+    }
+
+    /**
+     * Drop every bucket of a category whose transactions were all deleted
+     */
+    public void deleteCategory(UUID userId, String categoryName) {
+        rollupRepository.deleteByUserAndCategory(userId, categoryName);
+    }
+
+    /**
+     * Discard and recompute a user's buckets from the ledger
+     */
+    public int rebuildForUser(UUID userId) {
+        rollupRepository.deleteByUser(userId);
+        return rollupRepository.rebuildForUser(userId);
+    }
+
+    /**
+     * Compare every user's buckets against the ledger and optionally rebuild the ones that drifted
+     * @return the users whose rollups disagreed with the ledger
+     */
+    public List<UUID> verify(boolean repair) {
+        rollupRepository.deleteEmptyBuckets();
+        List<UUID> drifted = rollupRepository.findUsersWithDrift();
+        if (drifted.isEmpty()) {
+            log.debug("Transaction rollups match the ledger");
+            return drifted;
+        }
+        log.warn("Transaction rollups drifted from the ledger for {} user(s): {}", drifted.size(), drifted);
+        if (repair) {
+            for (UUID userId : drifted) {
+                rebuildForUser(userId);
+            }
+            log.info("Rebuilt transaction rollups for {} user(s)", drifted.size());
+        }
+        return drifted;
+    }
+
+    /**
+     * Bucket a transaction date into its calendar month (UTC)
+     */
+    public static LocalDate monthOf(OffsetDateTime transactionDate) {
+        return transactionDate.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate().withDayOfMonth(1);
+    }
+
+    private void apply(UUID userId, OffsetDateTime transactionDate, String category, TransactionType type,
+                       BigDecimal amount, long count) {
+        // Untyped legacy rows are treated as expenses, the entity default
+        TransactionType bucketType = type != null ? type : TransactionType.EXPENSE;
+        rollupRepository.applyDelta(userId, monthOf(transactionDate), category, bucketType.name(), amount, count);
+    }
+}
@@ -0,0 +1,176 @@
+package com.rain.finapp.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rain.finapp.dto.TransactionResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Writes a user's transactions to an output stream one row at a time, straight off a database cursor.
+ * Memory use stays flat regardless of how many rows are exported.
+ */
+@Service
+public class TransactionExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionExportService.class);
+
+    // Column names are ones the CSV importer recognizes, so an export can be re-imported as-is
+    private static final String CSV_HEADER = "transactionId,transactionDate,type,category,amount,description";
+
+    public enum Format {
+        CSV("text/csv", "csv"),
+        NDJSON("application/x-ndjson", "ndjson"),
+        JSON("application/json", "json");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+
+        public static Format resolve(String value) {
+            if (value == null || value.isBlank()) {
+                return CSV;
+            }
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unsupported export format: " + value);
+            }
+        }
+    }
+
+    private final TransactionService transactionService;
+    private final ObjectMapper objectMapper;
+
+    public TransactionExportService(TransactionService transactionService, ObjectMapper objectMapper) {
+        this.transactionService = transactionService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Stream the user's transactions matching the optional filters to the output in the given format.
+     * The caller owns the output stream; it is flushed but not closed.
+     */
+    public long export(UUID userId, Format format, OffsetDateTime startDate, OffsetDateTime endDate,
+                       String category, OutputStream out) throws IOException {
+        long started = System.nanoTime();
+        long rows = switch (format) {
+            case CSV -> writeCsv(userId, startDate, endDate, category, out);
+            case NDJSON -> writeJson(userId, startDate, endDate, category, out, false);
+            case JSON -> writeJson(userId, startDate, endDate, category, out, true);
+        };
+        logger.info("Exported {} transactions as {} for user {} in {} ms",
+                rows, format, userId, (System.nanoTime() - started) / 1_000_000);
+        return rows;
+    }
+
+    private long writeCsv(UUID userId, OffsetDateTime startDate, OffsetDateTime endDate,
+                          String category, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        long rows;
+        try {
+            rows = transactionService.streamTransactions(userId, startDate, endDate, category, transaction -> {
+                try {
+                    writeCsvRow(writer, transaction);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+        return rows;
+    }
+
+    private static void writeCsvRow(Writer writer, TransactionResponse transaction) throws IOException {
+        writer.write(transaction.getTransactionId().toString());
+        writer.write(',');
+        writer.write(transaction.getTransactionDate().toString());
+        writer.write(',');
+        writer.write(transaction.getType() != null ? transaction.getType().name() : "");
+        writer.write(',');
+        writeCsvField(writer, transaction.getCategory());
+        writer.write(',');
+        writer.write(transaction.getAmount().toPlainString());
+        writer.write(',');
+        writeCsvField(writer, transaction.getDescription());
+        writer.write("\r\n");
+    }
+
+    // RFC 4180: quote fields containing a separator, quote or line break, doubling embedded quotes
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        boolean needsQuotes = false;
+        for (int i = 0; i < value.length() && !needsQuotes; i++) {
+            char c = value.charAt(i);
+            needsQuotes = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!needsQuotes) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private long writeJson(UUID userId, OffsetDateTime startDate, OffsetDateTime endDate,
+                           String category, OutputStream out, boolean array) throws IOException {
+        JsonGenerator generator = objectMapper.createGenerator(out);
+        // Stream owned by the caller; NDJSON puts each root value on its own line
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        if (array) {
+            generator.writeStartArray();
+        }
+        long rows;
+        try {
+            rows = transactionService.streamTransactions(userId, startDate, endDate, category, transaction -> {
+                try {
+                    generator.writeObject(transaction);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (array) {
+            generator.writeEndArray();
+        } else if (rows > 0) {
+            generator.writeRaw('\n');
+        }
+        generator.close();
+        return rows;
+    }
+}
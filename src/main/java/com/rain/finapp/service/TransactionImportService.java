@@ -0,0 +1,232 @@
+package com.rain.finapp.service;
+
+import com.rain.finapp.dto.ContentHashCount;
+import com.rain.finapp.dto.ImportJobStatus;
+import com.rain.finapp.dto.TransactionRequest;
+import com.rain.finapp.importer.CsvTransactionReader;
+import com.rain.finapp.importer.ImportFormat;
+import com.rain.finapp.importer.ImportRow;
+import com.rain.finapp.importer.OfxTransactionReader;
+import com.rain.finapp.importer.TransactionFileReader;
+import com.rain.finapp.repository.TransactionRepository;
+import com.rain.finapp.util.ContentHash;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Imports CSV and OFX/QFX bank statements in the background.
+ * The upload is spooled to a temp file so the request thread returns immediately; a worker on the
+ * shared finapp-executor pool then parses it as a stream and writes it in batched chunks, creating any
+ * categories it has not seen before. Rows are matched to the user's existing transactions by content
+ * hash, one for one: re-importing a statement adds nothing, while identical rows within a statement
+ * (two coffees at the same price on the same day) are all kept.
+ */
+@Service
+public class TransactionImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionImportService.class);
+
+    private final TransactionRepository transactionRepository;
+    private final CategoryResolver categoryResolver;
+    private final TransactionIngestService ingestService;
+    private final TransactionTemplate transactionTemplate;
+    private final TaskExecutor taskExecutor;
+    private final Duration jobRetention;
+
+    private final Map<UUID, ImportJobStatus> jobs = new ConcurrentHashMap<>();
+
+    public TransactionImportService(TransactionRepository transactionRepository,
+                                    CategoryResolver categoryResolver,
+                                    TransactionIngestService ingestService,
+                                    PlatformTransactionManager transactionManager,
+                                    @Qualifier("applicationTaskExecutor") TaskExecutor taskExecutor,
+                                    @Value("${import.job-retention:PT1H}") Duration jobRetention) {
+        this.transactionRepository = transactionRepository;
+        this.categoryResolver = categoryResolver;
+        this.ingestService = ingestService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.taskExecutor = taskExecutor;
+        this.jobRetention = jobRetention;
+    }
+
+    /**
+     * Queue an uploaded statement for import
+     * @throws TaskRejectedException if the import pool and its queue are full
+     */
+    public ImportJobStatus submit(UUID userId, MultipartFile file, String format, String defaultCategory) throws IOException {
+        ImportFormat importFormat = ImportFormat.resolve(format, file.getOriginalFilename());
+        evictFinishedJobs();
+
+        // The multipart part is deleted when the request ends, so keep our own copy for the worker
+        Path upload = Files.createTempFile("finapp-import-", "." + importFormat.name().toLowerCase(Locale.ROOT));
+        file.transferTo(upload);
+
+        ImportJobStatus job = new ImportJobStatus(UUID.randomUUID(), userId, file.getOriginalFilename(), importFormat);
+        jobs.put(job.getJobId(), job);
+        try {
+            taskExecutor.execute(() -> run(job, upload, defaultCategory));
+        } catch (TaskRejectedException e) {
+            jobs.remove(job.getJobId());
+            Files.deleteIfExists(upload);
+            throw e;
+        }
+        return job;
+    }
+
+    /**
+     * Look up an import job, only if it belongs to the user
+     */
+    public Optional<ImportJobStatus> getJob(UUID userId, UUID jobId) {
+        return Optional.ofNullable(jobs.get(jobId))
+                .filter(job -> job.getUserId().equals(userId));
+    }
+
+    private void run(ImportJobStatus job, Path upload, String defaultCategory) {
+        job.markRunning();
+        int chunkSize = ingestService.getChunkSize();
+        try (TransactionFileReader reader = open(job.getFormat(), upload, defaultCategory)) {
+            // Per content hash, how many of the user's transactions from before this job no file row has matched yet
+            Map<String, Long> unmatched = new HashMap<>();
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            ImportRow row;
+            while ((row = reader.next()) != null) {
+                job.rowRead();
+                if (!row.isValid()) {
+                    job.reject(row.getLineNumber(), row.getError());
+                    continue;
+                }
+                List<String> errors = ingestService.validate(row.getRequest());
+                if (!errors.isEmpty()) {
+                    job.reject(row.getLineNumber(), String.join("; ", errors));
+                    continue;
+                }
+                chunk.add(row);
+                if (chunk.size() >= chunkSize) {
+                    writeChunk(job, chunk, unmatched);
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                writeChunk(job, chunk, unmatched);
+            }
+            job.markCompleted();
+            log.info("Import {} ({}) finished: {} rows read, {} imported, {} duplicates, {} rejected",
+                    job.getJobId(), job.getFilename(), job.getRowsRead(), job.getImported(),
+                    job.getDuplicates(), job.getRejected());
+        } catch (Exception e) {
+            String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Import {} ({}) failed: {}", job.getJobId(), job.getFilename(), reason);
+            job.markFailed(reason);
+        } finally {
+            try {
+                Files.deleteIfExists(upload);
+            } catch (IOException e) {
+                log.warn("Could not delete import temp file {}", upload, e);
+            }
+        }
+    }
+
+    private void writeChunk(ImportJobStatus job, List<ImportRow> chunk, Map<String, Long> unmatched) {
+        UUID userId = job.getUserId();
+        // Only merged into unmatched once the chunk commits; a rolled-back chunk matched nothing
+        Map<String, Long> remaining = new HashMap<>();
+        try {
+            long[] counts = transactionTemplate.execute(status -> {
+                List<String> hashes = new ArrayList<>(chunk.size());
+                for (ImportRow row : chunk) {
+                    TransactionRequest request = row.getRequest();
+                    hashes.add(ContentHash.of(request.getTransactionDate(), request.getAmount(), request.getDescription()));
+                }
+                // The job has not written any row with a hash it has not seen yet, so the database
+                // count of such a hash is all from before the job
+                Set<String> unseen = new LinkedHashSet<>();
+                for (String hash : hashes) {
+                    if (!unmatched.containsKey(hash) && unseen.add(hash)) {
+                        remaining.put(hash, 0L);
+                    }
+                }
+                if (!unseen.isEmpty()) {
+                    for (ContentHashCount existing : transactionRepository.countByContentHashes(userId, unseen)) {
+                        remaining.put(existing.getContentHash(), existing.getCount());
+                    }
+                }
+
+                List<TransactionRequest> fresh = new ArrayList<>(chunk.size());
+                for (int i = 0; i < chunk.size(); i++) {
+                    String hash = hashes.get(i);
+                    long left = remaining.computeIfAbsent(hash, unmatched::get);
+                    if (left > 0) {
+                        remaining.put(hash, left - 1);
+                    } else {
+                        fresh.add(chunk.get(i).getRequest());
+                    }
+                }
+                long categoriesCreated = createMissingCategories(userId, fresh);
+                ingestService.insertAll(userId, fresh);
+                return new long[] { fresh.size(), chunk.size() - fresh.size(), categoriesCreated };
+            });
+            unmatched.putAll(remaining);
+            job.chunkWritten(counts[0], counts[1], counts[2]);
+        } catch (RuntimeException e) {
+            String reason = "Could not be saved: " + NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            for (ImportRow row : chunk) {
+                job.reject(row.getLineNumber(), reason);
+            }
+        }
+    }
+
+    private long createMissingCategories(UUID userId, List<TransactionRequest> requests) {
+        Set<String> names = new LinkedHashSet<>();
+        for (TransactionRequest request : requests) {
+            names.add(request.getCategory());
+        }
+        return categoryResolver.createMissing(userId, names);
+    }
+
+    private static TransactionFileReader open(ImportFormat format, Path upload, String defaultCategory) throws IOException {
+        // Statements are not always UTF-8; replace undecodable bytes rather than failing the whole file
+        Reader reader = new BufferedReader(new InputStreamReader(Files.newInputStream(upload),
+                StandardCharsets.UTF_8.newDecoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE)));
+        return switch (format) {
+            case CSV -> new CsvTransactionReader(reader, defaultCategory);
+            case OFX -> new OfxTransactionReader(reader, defaultCategory);
+        };
+    }
+
+    private void evictFinishedJobs() {
+        OffsetDateTime cutoff = OffsetDateTime.now().minus(jobRetention);
+        jobs.values().removeIf(job -> job.isFinished() && job.getFinishedAt().isBefore(cutoff));
+    }
+}
@@ -0,0 +1,190 @@
+package com.rain.finapp.service;
+
+import com.rain.finapp.dto.BatchIngestResponse;
+import com.rain.finapp.dto.BatchItemResult;
+import com.rain.finapp.dto.TransactionRequest;
+import com.rain.finapp.model.Category;
+import com.rain.finapp.model.Transaction;
+import com.rain.finapp.model.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Bulk transaction ingest. Items are validated one by one and persisted in chunks of
+ * ingest.chunk-size, each chunk in its own database transaction so a bad chunk does not
+ * roll back the ones already written. Within a chunk Hibernate sends the inserts as JDBC
+ * batches of hibernate.jdbc.batch_size, and rollups get one upsert per touched bucket.
+ */
+@Service
+public class TransactionIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(TransactionIngestService.class);
+
+    private final RollupService rollupService;
+    private final CategoryResolver categoryResolver;
+    private final LedgerVersions ledgerVersions;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    private final int maxBatchSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public TransactionIngestService(RollupService rollupService,
+                                    CategoryResolver categoryResolver,
+                                    LedgerVersions ledgerVersions,
+                                    Validator validator,
+                                    PlatformTransactionManager transactionManager,
+                                    @Value("${ingest.chunk-size:500}") int chunkSize,
+                                    @Value("${ingest.max-batch-size:5000}") int maxBatchSize) {
+        this.rollupService = rollupService;
+        this.categoryResolver = categoryResolver;
+        this.ledgerVersions = ledgerVersions;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Validate and persist every request produced by the iterator.
+     * The iterator is consumed lazily, so a streamed body is never fully buffered.
+     */
+    public BatchIngestResponse ingest(UUID userId, Iterator<TransactionRequest> requests) {
+
+        long start = System.nanoTime();
+        List<BatchItemResult> results = new ArrayList<>();
+        List<TransactionRequest> pending = new ArrayList<>(chunkSize);
+        List<Integer> pendingIndexes = new ArrayList<>(chunkSize);
+        int index = 0;
+
+        while (true) {
+            TransactionRequest request;
+            try {
+                if (!requests.hasNext()) {
+                    break;
+                }
+                request = requests.next();
+            } catch (RuntimeException e) {
+                // A malformed element leaves the parser in an unknown state, so stop here
+                results.add(BatchItemResult.invalid(index, List.of("Malformed item: " + e.getMessage())));
+                index++;
+                break;
+            }
+
+            if (index >= maxBatchSize) {
+                results.add(BatchItemResult.invalid(index, List.of("Batch exceeds the limit of " + maxBatchSize + " items")));
+                index++;
+                break;
+            }
+
+            List<String> errors = validate(request);
+            if (!errors.isEmpty()) {
+                results.add(BatchItemResult.invalid(index, errors));
+            } else {
+                pending.add(request);
+                pendingIndexes.add(index);
+                if (pending.size() >= chunkSize) {
+                    results.addAll(writeChunk(userId, pending, pendingIndexes));
+                    pending.clear();
+                    pendingIndexes.clear();
+                }
+            }
+            index++;
+        }
+        if (!pending.isEmpty()) {
+            results.addAll(writeChunk(userId, pending, pendingIndexes));
+        }
+
+        results.sort(Comparator.comparingInt(BatchItemResult::getIndex));
+        int created = (int) results.stream().filter(r -> r.getStatus() == BatchItemResult.Status.CREATED).count();
+        long elapsedNanos = System.nanoTime() - start;
+        double rowsPerSecond = elapsedNanos > 0 ? created / (elapsedNanos / 1_000_000_000.0) : 0;
+        log.info("Batch ingest for {}: {} received, {} created in {} ms ({} rows/s)",
+                userId, index, created, elapsedNanos / 1_000_000, Math.round(rowsPerSecond));
+
+        return new BatchIngestResponse(index, created, index - created, elapsedNanos / 1_000_000,
+                rowsPerSecond, results);
+    }
+
+    private List<BatchItemResult> writeChunk(UUID userId, List<TransactionRequest> chunk, List<Integer> indexes) {
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Transaction> transactions = insertAll(userId, chunk);
+                List<BatchItemResult> results = new ArrayList<>(chunk.size());
+                for (int i = 0; i < transactions.size(); i++) {
+                    results.add(BatchItemResult.created(indexes.get(i), transactions.get(i).getTransactionId()));
+                }
+                return results;
+            });
+        } catch (RuntimeException e) {
+            String reason = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+            log.warn("Batch ingest chunk of {} items failed: {}", chunk.size(), reason);
+            List<BatchItemResult> results = new ArrayList<>(chunk.size());
+            for (Integer index : indexes) {
+                results.add(BatchItemResult.failed(index, "Chunk could not be saved: " + reason));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * Persist already-validated requests and fold them into the rollups.
+     * Must be called inside a transaction; the returned entities are detached.
+     */
+    List<Transaction> insertAll(UUID userId, List<TransactionRequest> requests) {
+        // A reference avoids re-selecting the user for every chunk
+        User user = entityManager.getReference(User.class, userId);
+        // One lookup for every category name in the chunk, creating the new ones
+        Map<String, Category> categories = categoryResolver.resolve(userId,
+                requests.stream().map(TransactionRequest::getCategory).toList());
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        for (TransactionRequest request : requests) {
+            Transaction transaction = TransactionService.newTransaction(user, categories.get(request.getCategory()), request);
+            entityManager.persist(transaction);
+            transactions.add(transaction);
+        }
+        // Flush the whole chunk as JDBC batches and detach it, so the per-bucket rollup
+        // upserts that follow do not dirty-check hundreds of managed entities each
+        entityManager.flush();
+        entityManager.clear();
+        rollupService.recordAll(userId, transactions);
+        ledgerVersions.bump(userId);
+        return transactions;
+    }
+
+    /**
+     * Validate a request against the same constraints as the single-create endpoint
+     */
+    List<String> validate(TransactionRequest request) {
+        if (request == null) {
+            return List.of("Item must be a transaction object");
+        }
+        List<String> errors = new ArrayList<>();
+        for (ConstraintViolation<TransactionRequest> violation : validator.validate(request)) {
+            errors.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return errors;
+    }
+
+    int getChunkSize() {
+        return chunkSize;
+    }
+}
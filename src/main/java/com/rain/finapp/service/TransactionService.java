@@ -1,110 +1,241 @@
 package com.rain.finapp.service;
 
+import com.rain.finapp.config.CacheConfig;
+import com.rain.finapp.config.PaginationConfig;
+import com.rain.finapp.dto.BudgetTotals;
+import com.rain.finapp.dto.CategorySpending;
+import com.rain.finapp.dto.TransactionPageResponse;
 import com.rain.finapp.dto.TransactionRequest;
 import com.rain.finapp.dto.TransactionResponse;
+import com.rain.finapp.dto.TransactionSearchCriteria;
+import com.rain.finapp.dto.TransactionSearchHit;
+import com.rain.finapp.dto.TransactionSearchPageResponse;
 import com.rain.finapp.model.Category;
 import com.rain.finapp.model.Transaction;
 import com.rain.finapp.model.TransactionType;
 import com.rain.finapp.model.User;
 import com.rain.finapp.repository.CategoryRepository;
 import com.rain.finapp.repository.TransactionRepository;
+import com.rain.finapp.repository.TransactionRollupRepository;
+import com.rain.finapp.repository.TransactionSpecifications;
 import com.rain.finapp.repository.UserRepository;
+import com.rain.finapp.util.KeysetCursor;
+import com.rain.finapp.util.SortKeyCursor;
 
+import io.micrometer.observation.annotation.Observed;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.HashMap;
-import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.Set;
 import java.util.UUID;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
+// One timer per public method, tagged with the method name as the operation
+@Observed(name = "finapp.transactions")
 public class TransactionService {
 
+    private static final int MAX_SEARCH_QUERY_LENGTH = 200;
+    private static final String RANK_SORT = "RANK";
+
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
     private final CategoryRepository categoryRepository;
+    private final TransactionRollupRepository rollupRepository;
+    private final RollupService rollupService;
+    private final CategoryResolver categoryResolver;
+    private final LedgerVersions ledgerVersions;
+    private final PaginationConfig paginationConfig;
 
     public TransactionService(TransactionRepository transactionRepository, 
                             UserRepository userRepository,
-                            CategoryRepository categoryRepository) {
+                            CategoryRepository categoryRepository,
+                            TransactionRollupRepository rollupRepository,
+                            RollupService rollupService,
+                            CategoryResolver categoryResolver,
+                            LedgerVersions ledgerVersions,
+                            PaginationConfig paginationConfig) {
         this.transactionRepository = transactionRepository;
         this.userRepository = userRepository;
         this.categoryRepository = categoryRepository;
+        this.rollupRepository = rollupRepository;
+        this.rollupService = rollupService;
+        this.categoryResolver = categoryResolver;
+        this.ledgerVersions = ledgerVersions;
+        this.paginationConfig = paginationConfig;
     }
 
     /**
      * Create a new transaction for the specified user
+     * @param username echoed in the response, taken from the principal rather than read from the users table
      */
-    public TransactionResponse createTransaction(String username, TransactionRequest request) {
-        User user = getUserByUsername(username);
-        
-        Transaction transaction = new Transaction();
-        transaction.setUser(user);
-        transaction.setAmount(request.getAmount());
-        transaction.setCategory(request.getCategory());
-        transaction.setDescription(request.getDescription());
-        transaction.setType(request.getType());
-        
-        // Use provided date or default to now
-        if (request.getTransactionDate() != null) {
-            transaction.setTransactionDate(request.getTransactionDate());
-        }
+    public TransactionResponse createTransaction(UUID userId, String username, TransactionRequest request) {
+        User user = userReference(userId);
+        Category category = categoryResolver.resolve(userId, request.getCategory());
         
+        Transaction transaction = newTransaction(user, category, request);
         Transaction savedTransaction = transactionRepository.save(transaction);
-        return mapToResponse(savedTransaction);
+        rollupService.record(savedTransaction);
+        ledgerVersions.bump(userId);
+        return mapToResponse(savedTransaction, username);
     }
 
     /**
      * Get all transactions for a user
      */
     @Transactional(readOnly = true)
-    public List<TransactionResponse> getAllTransactions(String username) {
-        User user = getUserByUsername(username);
-        List<Transaction> transactions = transactionRepository.findByUserOrderByTransactionDateDesc(user);
-        return transactions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<TransactionResponse> getAllTransactions(UUID userId) {
+        User user = userReference(userId);
+        return transactionRepository.findByUserOrderByTransactionDateDesc(user);
+    }
+
+    /**
+     * Get one keyset page of transactions, newest first.
+     * Fetches one extra row to know whether another page exists without a COUNT query.
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageResponse getTransactionPage(UUID userId, String cursor, Integer size) {
+        User user = userReference(userId);
+        int pageSize = paginationConfig.resolveSize(size);
+        Limit limit = Limit.of(pageSize + 1);
+
+        List<TransactionResponse> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = transactionRepository.findPageByUser(user, limit);
+        } else {
+            KeysetCursor position = KeysetCursor.decode(cursor);
+            rows = transactionRepository.findPageByUserAfter(
+                    user, position.getTransactionDate(), position.getTransactionId(), limit);
+        }
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionResponse> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionResponse last = items.get(items.size() - 1);
+            nextCursor = new KeysetCursor(last.getTransactionDate(), last.getTransactionId()).encode();
+        }
+        return new TransactionPageResponse(items, nextCursor, hasMore, items.size());
+    }
+
+    /**
+     * Get one keyset page of the transactions matching the criteria, filtered and ordered by the database
+     */
+    @Transactional(readOnly = true)
+    public TransactionPageResponse searchTransactions(UUID userId, TransactionSearchCriteria criteria,
+                                                      String cursor, Integer size) {
+        User user = userReference(userId);
+        int pageSize = paginationConfig.resolveSize(size);
+        TransactionSearchCriteria.Sort sort = criteria.getSort();
+
+        Specification<Transaction> spec = TransactionSpecifications.matching(user, criteria);
+        if (cursor != null && !cursor.isBlank()) {
+            spec = spec.and(TransactionSpecifications.after(sort, SortKeyCursor.decode(cursor, sort.name())));
+        }
+        List<TransactionResponse> rows = transactionRepository.findPage(spec, sort, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionResponse> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionResponse last = items.get(items.size() - 1);
+            SortKeyCursor position = sort.isByAmount()
+                    ? SortKeyCursor.ofAmount(sort.name(), last.getAmount(), last.getTransactionId())
+                    : SortKeyCursor.ofDate(sort.name(), last.getTransactionDate(), last.getTransactionId());
+            nextCursor = position.encode();
+        }
+        return new TransactionPageResponse(items, nextCursor, hasMore, items.size());
+    }
+
+    /**
+     * Full-text search over descriptions, best match first, one keyset page at a time
+     */
+    @Transactional(readOnly = true)
+    public TransactionSearchPageResponse searchDescriptions(UUID userId, String query, String cursor, Integer size) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query is required");
+        }
+        if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+            throw new IllegalArgumentException("Search query must be at most " + MAX_SEARCH_QUERY_LENGTH + " characters");
+        }
+        int pageSize = paginationConfig.resolveSize(size);
+
+        Float afterRank = null;
+        UUID afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            SortKeyCursor position = SortKeyCursor.decode(cursor, RANK_SORT);
+            afterRank = position.getRankKey();
+            afterId = position.getTransactionId();
+        }
+        List<TransactionSearchHit> rows = transactionRepository.searchDescriptions(
+                userId, query.trim(), afterRank, afterId, pageSize + 1);
+
+        boolean hasMore = rows.size() > pageSize;
+        List<TransactionSearchHit> items = hasMore ? new ArrayList<>(rows.subList(0, pageSize)) : rows;
+        String nextCursor = null;
+        if (hasMore) {
+            TransactionSearchHit last = items.get(items.size() - 1);
+            nextCursor = SortKeyCursor.ofRank(RANK_SORT, last.getRank(), last.getTransaction().getTransactionId()).encode();
+        }
+        return new TransactionSearchPageResponse(items, nextCursor, hasMore, items.size());
+    }
+
+    /**
+     * Push a user's transactions to the sink, newest first, from a forward-only cursor.
+     * Optional filters may be null. Must be consumed inside this call; rows are never collected into a list.
+     */
+    @Transactional(readOnly = true)
+    public long streamTransactions(UUID userId, OffsetDateTime startDate, OffsetDateTime endDate,
+                                   String category, Consumer<TransactionResponse> sink) {
+        User user = userReference(userId);
+        long count = 0;
+        try (Stream<TransactionResponse> rows = transactionRepository.streamByUser(user, startDate, endDate, category)) {
+            var iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                sink.accept(iterator.next());
+                count++;
+            }
+        }
+        return count;
     }
 
     /**
      * Get transactions for a user within a date range
      */
     @Transactional(readOnly = true)
-    public List<TransactionResponse> getTransactionsByDateRange(String username, OffsetDateTime startDate, OffsetDateTime endDate) {
-        User user = getUserByUsername(username);
-        List<Transaction> transactions = transactionRepository.findByUserAndDateRange(user, startDate, endDate);
-        return transactions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<TransactionResponse> getTransactionsByDateRange(UUID userId, OffsetDateTime startDate, OffsetDateTime endDate) {
+        User user = userReference(userId);
+        return transactionRepository.findByUserAndDateRange(user, startDate, endDate);
     }
 
     /**
      * Get transactions for a user by category
      */
     @Transactional(readOnly = true)
-    public List<TransactionResponse> getTransactionsByCategory(String username, String category) {
-        User user = getUserByUsername(username);
-        List<Transaction> transactions = transactionRepository.findByUserAndCategoryOrderByTransactionDateDesc(user, category);
-        return transactions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+    public List<TransactionResponse> getTransactionsByCategory(UUID userId, String category) {
+        User user = userReference(userId);
+        return transactionRepository.findByUserAndCategoryNameOrderByTransactionDateDesc(user, category);
     }
 
     /**
      * Update a transaction (only if user owns it)
+     * @param username echoed in the response, taken from the principal rather than read from the users table
      */
-    public TransactionResponse updateTransaction(String username, UUID transactionId, TransactionRequest request) {
-        User user = getUserByUsername(username);
+    public TransactionResponse updateTransaction(UUID userId, String username, UUID transactionId, TransactionRequest request) {
+        User user = userReference(userId);
         
         Optional<Transaction> optionalTransaction = transactionRepository.findByTransactionIdAndUser(transactionId, user);
         if (optionalTransaction.isEmpty()) {
@@ -112,8 +243,11 @@ public class TransactionService {
         }
         
         Transaction transaction = optionalTransaction.get();
+        rollupService.reverse(user.getUserId(), transaction.getTransactionDate(), transaction.getCategory().getName(),
+                transaction.getType(), transaction.getAmount());
+        
         transaction.setAmount(request.getAmount());
-        transaction.setCategory(request.getCategory());
+        transaction.setCategory(categoryResolver.resolve(userId, request.getCategory()));
         transaction.setDescription(request.getDescription());
         
         if (request.getTransactionDate() != null) {
@@ -121,85 +255,85 @@ public class TransactionService {
         }
         
         Transaction savedTransaction = transactionRepository.save(transaction);
-        return mapToResponse(savedTransaction);
+        rollupService.record(savedTransaction);
+        ledgerVersions.bump(userId);
+        return mapToResponse(savedTransaction, username);
     }
 
     /**
      * Delete a transaction (only if user owns it)
      */
-    public void deleteTransaction(String username, UUID transactionId) {
-        User user = getUserByUsername(username);
+    public void deleteTransaction(UUID userId, UUID transactionId) {
+        User user = userReference(userId);
         
         Optional<Transaction> optionalTransaction = transactionRepository.findByTransactionIdAndUser(transactionId, user);
         if (optionalTransaction.isEmpty()) {
             throw new RuntimeException("Transaction not found or you don't have permission to delete it");
         }
         
-        transactionRepository.delete(optionalTransaction.get());
+        Transaction transaction = optionalTransaction.get();
+        transactionRepository.delete(transaction);
+        rollupService.reverse(user.getUserId(), transaction.getTransactionDate(), transaction.getCategory().getName(),
+                transaction.getType(), transaction.getAmount());
+        ledgerVersions.bump(userId);
     }
 
     /**
      * Delete all transactions in a category
+     * @return the number of transactions deleted
      */
-    public void deleteAllTransactionsInCategory(String username, String categoryName) {
-        User user = getUserByUsername(username);
-        List<Transaction> transactions = transactionRepository.findTransactionsByUserAndCategory(user, categoryName);
-        transactionRepository.deleteAll(transactions);
+    public int deleteAllTransactionsInCategory(UUID userId, String categoryName) {
+        User user = userReference(userId);
+        Optional<Category> category = categoryRepository.findByUserAndName(user, categoryName);
+        if (category.isEmpty()) {
+            return 0;
+        }
+        int deleted = transactionRepository.deleteByUserAndCategory(user, category.get());
+        rollupService.deleteCategory(user.getUserId(), categoryName);
+        ledgerVersions.bump(userId);
+        return deleted;
     }
 
     // Get a single transaction by ID (only if user owns it)
     @Transactional(readOnly = true)
-    public TransactionResponse getTransactionById(String username, UUID transactionId) {
-        User user = getUserByUsername(username);
-        
-        Optional<Transaction> optionalTransaction = transactionRepository.findByTransactionIdAndUser(transactionId, user);
-        if (optionalTransaction.isEmpty()) {
-            throw new RuntimeException("Transaction not found or you don't have permission to view it");
-        }
-        
-        return mapToResponse(optionalTransaction.get());
+    public TransactionResponse getTransactionById(UUID userId, UUID transactionId) {
+        User user = userReference(userId);
+        return transactionRepository.findResponseByTransactionIdAndUser(transactionId, user)
+                .orElseThrow(() -> new RuntimeException("Transaction not found or you don't have permission to view it"));
     }
 
     /**
-     * Get distinct categories for a user
+     * Get the category names for a user, newest first.
+     * Every transaction references a category row, so the categories table is the only source.
+     * Cached per user and ledger version. The key is computed before the query runs, so a list read
+     * just before a write commits is cached under the old version, which no later read asks for.
      */
     @Transactional(readOnly = true)
-    public List<String> getUserCategories(String username) {
-        User user = getUserByUsername(username);
-        
-        // Get categories from the categories table ordered by creation timestamp
-        List<Category> savedCategories = categoryRepository.findByUserOrderByCreatedAtDesc(user);
-        Set<String> allCategories = savedCategories.stream()
+    @Cacheable(cacheNames = CacheConfig.CATEGORIES, key = "#userId + ':' + @ledgerVersions.current(#userId)")
+    public List<String> getUserCategories(UUID userId) {
+        User user = userReference(userId);
+        // Immutable, since the cached instance is shared between requests
+        return categoryRepository.findByUserOrderByCreatedAtDescNameAsc(user).stream()
                 .map(Category::getName)
-                .collect(Collectors.toCollection(LinkedHashSet::new)); // Use LinkedHashSet to preserve order
-        
-        // Also include categories that appear in transactions but might not be in categories table
-        List<String> transactionCategories = transactionRepository.findDistinctCategoriesByUser(user);
-        allCategories.addAll(transactionCategories);
-        
-        // Convert to list while preserving the timestamp order for saved categories
-        return new ArrayList<>(allCategories);
+                .toList();
     }
 
     /**
      * Get recent transactions (last 30 days)
      */
     @Transactional(readOnly = true)
-    public List<TransactionResponse> getRecentTransactions(String username) {
-        User user = getUserByUsername(username);
+    public List<TransactionResponse> getRecentTransactions(UUID userId) {
+        User user = userReference(userId);
         OffsetDateTime thirtyDaysAgo = OffsetDateTime.now().minusDays(30);
-        List<Transaction> transactions = transactionRepository.findRecentTransactionsByUser(user, thirtyDaysAgo);
-        return transactions.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        return transactionRepository.findRecentTransactionsByUser(user, thirtyDaysAgo);
     }
 
     /**
      * Get transaction count for a user
      */
     @Transactional(readOnly = true)
-    public long getTransactionCount(String username) {
-        User user = getUserByUsername(username);
+    public long getTransactionCount(UUID userId) {
+        User user = userReference(userId);
         return transactionRepository.countByUser(user);
     }
 
@@ -208,42 +342,16 @@ public class TransactionService {
      * Income is not included in category budgets - it contributes to overall monthly budget instead
      */
     @Transactional(readOnly = true)
-    public Map<String, CategoryBudgetInfo> getCategoryBudgets(String username) {
-        User user = getUserByUsername(username);
-        
-        // Get all categories with budgets
-        List<Category> categories = categoryRepository.findByUserOrderByNameAsc(user);
-        
-        // Get all transactions for calculating spending
-        List<Transaction> transactions = transactionRepository.findByUserOrderByTransactionDateDesc(user);
-        
-        // Calculate spending per category (expenses only)
-        Map<String, BigDecimal> categorySpending = transactions.stream()
-                .filter(t -> t.getType() == TransactionType.EXPENSE)
-                .collect(Collectors.groupingBy(
-                        Transaction::getCategory,
-                        Collectors.reducing(BigDecimal.ZERO, Transaction::getAmount, BigDecimal::add)
-                ));
-        
-        // Build result map
-        Map<String, CategoryBudgetInfo> result = new HashMap<>();
-        
-        // Add categories with budgets
-        for (Category category : categories) {
-            if (category.getBudget() != null && category.getBudget().compareTo(BigDecimal.ZERO) > 0) {
-                BigDecimal spent = categorySpending.getOrDefault(category.getName(), BigDecimal.ZERO);
-                result.put(category.getName(), new CategoryBudgetInfo(category.getBudget(), spent));
-            }
-        }
-        
-        return result;
+    public Map<String, CategoryBudgetInfo> getCategoryBudgets(UUID userId) {
+        User user = userReference(userId);
+        return buildCategoryBudgets(user);
     }
 
     /**
      * Set or update budget for a category
      */
-    public void setCategoryBudget(String username, String categoryName, BigDecimal budget) {
-        User user = getUserByUsername(username);
+    public void setCategoryBudget(UUID userId, String categoryName, BigDecimal budget) {
+        User user = userReference(userId);
         
         Optional<Category> existingCategory = categoryRepository.findByUserAndName(user, categoryName);
         
@@ -256,18 +364,19 @@ public class TransactionService {
             Category category = new Category(user, categoryName, budget);
             categoryRepository.save(category);
         }
+        ledgerVersions.bump(userId);
     }
 
     /**
      * Create a new category
      */
-    public void createCategory(String username, String categoryName) {
+    public void createCategory(UUID userId, String categoryName) {
         if (categoryName == null || categoryName.trim().isEmpty()) {
             throw new IllegalArgumentException("Category name cannot be empty");
         }
         
         categoryName = categoryName.trim();
-        User user = getUserByUsername(username);
+        User user = userReference(userId);
         
         // Check if category already exists
         if (categoryRepository.existsByUserAndName(user, categoryName)) {
@@ -277,6 +386,7 @@ public class TransactionService {
         // Create new category
         Category category = new Category(user, categoryName, null);
         categoryRepository.save(category);
+        ledgerVersions.bump(userId);
     }
 
 
@@ -284,22 +394,22 @@ public class TransactionService {
      * Get category count for a user
      */
     @Transactional(readOnly = true)
-    public long getCategoryCount(String username) {
-        User user = getUserByUsername(username);
-        return categoryRepository.findByUserOrderByNameAsc(user).size();
+    public long getCategoryCount(UUID userId) {
+        User user = userReference(userId);
+        return categoryRepository.countByUser(user);
     }
 
     /**
      * Delete a category for a user
      */
     @Transactional
-    public void deleteCategory(String username, String categoryName) {
+    public void deleteCategory(UUID userId, String categoryName) {
         if (categoryName == null || categoryName.trim().isEmpty()) {
             throw new IllegalArgumentException("Category name cannot be empty");
         }
         
         categoryName = categoryName.trim();
-        User user = getUserByUsername(username);
+        User user = userReference(userId);
         
         // Prevent deletion of Income category
         if ("Income".equals(categoryName)) {
@@ -312,22 +422,24 @@ public class TransactionService {
             throw new IllegalArgumentException("Category '" + categoryName + "' does not exist");
         }
         
-        // Check if there are any transactions using this category
-        List<Transaction> transactionsWithCategory = transactionRepository.findTransactionsByUserAndCategory(user, categoryName);
-        if (!transactionsWithCategory.isEmpty()) {
+        // Check if there are any transactions using this category (only counted for the error message)
+        if (transactionRepository.existsByUserAndCategory(user, categoryOpt.get())) {
+            long transactionCount = transactionRepository.countByUserAndCategory(user, categoryOpt.get());
             throw new IllegalArgumentException("Cannot delete category '" + categoryName + "' because it has " + 
-                transactionsWithCategory.size() + " transaction(s). Delete or move the transactions first.");
+                transactionCount + " transaction(s). Delete or move the transactions first.");
         }
         
         // Delete the category
         categoryRepository.delete(categoryOpt.get());
+        ledgerVersions.bump(userId);
     }
 
     
     /**
-     * Rename a category
+     * Rename a category. Transactions reference the category row, so only that row changes.
+     * @return the number of transactions now shown under the new name
      */
-    public void renameCategory(String username, String currentName, String newName) {
+    public int renameCategory(UUID userId, String currentName, String newName) {
         if (currentName == null || currentName.trim().isEmpty()) {
             throw new IllegalArgumentException("Current category name cannot be empty");
         }
@@ -343,7 +455,7 @@ public class TransactionService {
             throw new IllegalArgumentException("New category name must be different from current name");
         }
         
-        User user = getUserByUsername(username);
+        User user = userReference(userId);
         
         // Prevent renaming of Income category
         if ("Income".equals(currentName)) {
@@ -372,65 +484,40 @@ public class TransactionService {
         category.setName(newName);
         categoryRepository.save(category);
         
-        // Update all transactions that use this category
-        List<Transaction> transactionsWithCategory = transactionRepository.findTransactionsByUserAndCategory(user, currentName);
-        for (Transaction transaction : transactionsWithCategory) {
-            transaction.setCategory(newName);
-        }
-        if (!transactionsWithCategory.isEmpty()) {
-            transactionRepository.saveAll(transactionsWithCategory);
-        }
+        int updated = (int) transactionRepository.countByUserAndCategory(user, category);
+        rollupService.renameCategory(user.getUserId(), currentName, newName);
+        ledgerVersions.bump(userId);
+        return updated;
     }
 
     /**
      * Get overall budget summary for the user
      */
-    public Map<String, Object> getBudgetSummary(String username) {
-        User user = getUserByUsername(username);
-        
-        // Get all transactions for calculations
-        List<Transaction> allTransactions = transactionRepository.findByUserOrderByTransactionDateDesc(user);
-        
-        // Calculate totals
-        BigDecimal totalIncome = BigDecimal.ZERO;
-        BigDecimal totalExpenses = BigDecimal.ZERO;
-        BigDecimal monthlyIncome = BigDecimal.ZERO;
-        BigDecimal monthlyExpenses = BigDecimal.ZERO;
-        
-        // Get current month start
-        OffsetDateTime monthStart = OffsetDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0).withNano(0);
-        
-        for (Transaction transaction : allTransactions) {
-            if (transaction.getType() == TransactionType.INCOME) {
-                totalIncome = totalIncome.add(transaction.getAmount());
-                if (transaction.getTransactionDate().isAfter(monthStart)) {
-                    monthlyIncome = monthlyIncome.add(transaction.getAmount());
-                }
-            } else {
-                totalExpenses = totalExpenses.add(transaction.getAmount());
-                if (transaction.getTransactionDate().isAfter(monthStart)) {
-                    monthlyExpenses = monthlyExpenses.add(transaction.getAmount());
-                }
-            }
-        }
+    @Transactional(readOnly = true)
+    public Map<String, Object> getBudgetSummary(UUID userId) {
+        User user = userReference(userId);
+        
+        // Totals are summed over the monthly rollup buckets rather than over every transaction
+        LocalDate currentMonth = RollupService.monthOf(OffsetDateTime.now());
+        BudgetTotals totals = rollupRepository.summarizeByUser(user.getUserId(), TransactionType.INCOME, currentMonth);
         
         // Get category budgets
-        Map<String, CategoryBudgetInfo> categoryBudgets = getCategoryBudgets(username);
+        Map<String, CategoryBudgetInfo> categoryBudgets = buildCategoryBudgets(user);
         BigDecimal totalBudgeted = categoryBudgets.values().stream()
                 .map(CategoryBudgetInfo::getBudget)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
         
         // Create summary
         Map<String, Object> summary = new HashMap<>();
-        summary.put("totalIncome", totalIncome);
-        summary.put("totalExpenses", totalExpenses);
-        summary.put("totalNet", totalIncome.subtract(totalExpenses));
-        summary.put("monthlyIncome", monthlyIncome);
-        summary.put("monthlyExpenses", monthlyExpenses);
-        summary.put("monthlyNet", monthlyIncome.subtract(monthlyExpenses));
+        summary.put("totalIncome", totals.getTotalIncome());
+        summary.put("totalExpenses", totals.getTotalExpenses());
+        summary.put("totalNet", totals.getTotalIncome().subtract(totals.getTotalExpenses()));
+        summary.put("monthlyIncome", totals.getMonthlyIncome());
+        summary.put("monthlyExpenses", totals.getMonthlyExpenses());
+        summary.put("monthlyNet", totals.getMonthlyIncome().subtract(totals.getMonthlyExpenses()));
         summary.put("totalBudgeted", totalBudgeted);
-        summary.put("budgetRemaining", totalBudgeted.subtract(monthlyExpenses));
-        summary.put("transactionCount", (long) allTransactions.size());
+        summary.put("budgetRemaining", totalBudgeted.subtract(totals.getMonthlyExpenses()));
+        summary.put("transactionCount", totals.getTransactionCount());
         summary.put("categoryCount", categoryBudgets.size());
         
         return summary;
@@ -468,18 +555,46 @@ public class TransactionService {
     }
 
     // Helper methods
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found: " + username));
+    static Transaction newTransaction(User user, Category category, TransactionRequest request) {
+        Transaction transaction = new Transaction();
+        transaction.setUser(user);
+        transaction.setAmount(request.getAmount());
+        transaction.setCategory(category);
+        transaction.setDescription(request.getDescription());
+        transaction.setType(request.getType());
+        
+        // Use provided date or default to now
+        if (request.getTransactionDate() != null) {
+            transaction.setTransactionDate(request.getTransactionDate());
+        }
+        return transaction;
+    }
+
+    private Map<String, CategoryBudgetInfo> buildCategoryBudgets(User user) {
+        // Budgeted categories joined with their expense rollup buckets in one grouped query
+        List<CategorySpending> spending = rollupRepository.sumBudgetedCategorySpending(user, TransactionType.EXPENSE);
+        
+        Map<String, CategoryBudgetInfo> result = new HashMap<>();
+        for (CategorySpending row : spending) {
+            result.put(row.getCategory(), new CategoryBudgetInfo(row.getBudget(), row.getSpent()));
+        }
+        return result;
+    }
+
+    // The caller's id comes from the authenticated principal, so a lazy reference is enough:
+    // queries bind user_id directly and never initialize it. Reads project the username in the query;
+    // writes are passed it, since touching the reference's username would load the users row.
+    private User userReference(UUID userId) {
+        return userRepository.getReferenceById(userId);
     }
 
-    private TransactionResponse mapToResponse(Transaction transaction) {
+    static TransactionResponse mapToResponse(Transaction transaction, String username) {
         return new TransactionResponse(
                 transaction.getTransactionId(),
                 transaction.getUser().getUserId(),
-                transaction.getUser().getUsername(),
+                username,
                 transaction.getAmount(),
-                transaction.getCategory(),
+                transaction.getCategory().getName(),
                 transaction.getTransactionDate(),
                 transaction.getDescription(),
                 transaction.getType(),
@@ -1,7 +1,9 @@
 package com.rain.finapp.service;
 
+import com.rain.finapp.config.CacheConfig;
 import com.rain.finapp.model.User;
 import com.rain.finapp.repository.UserRepository;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
@@ -12,9 +14,11 @@ import java.util.Optional;
 @Service
 public class UserService {
     private final UserRepository userRepository;
+    private final LedgerVersions ledgerVersions;
 
-    public UserService(UserRepository userRepository) { 
+    public UserService(UserRepository userRepository, LedgerVersions ledgerVersions) { 
         this.userRepository = userRepository; 
+        this.ledgerVersions = ledgerVersions;
     }
 
     public List<User> getAllUsers() {
@@ -24,6 +28,8 @@ public class UserService {
     public long getUserCount() { 
         return userRepository.count(); }
 
+    // Saving over an existing user invalidates its cached principal
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#user.userId", condition = "#user.userId != null")
     public void insertUser(User user) {
         userRepository.save(user);
     }
@@ -44,17 +50,17 @@ public class UserService {
     }
 
     @Transactional
-    public User updateMonthlyBudget(String username, BigDecimal monthlyBudget) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-        
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
+    public User updateMonthlyBudget(UUID userId, BigDecimal monthlyBudget) {
+        User user = findById(userId);
+
         user.setMonthlyBudget(monthlyBudget);
+        ledgerVersions.bump(userId);
         return userRepository.save(user);
     }
 
-    public BigDecimal getMonthlyBudget(String username) {
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+    public BigDecimal getMonthlyBudget(UUID userId) {
+        User user = findById(userId);
         
         return user.getMonthlyBudget() != null ? user.getMonthlyBudget() : BigDecimal.ZERO;
     }   
@@ -0,0 +1,54 @@
+package com.rain.finapp.util;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HexFormat;
+
+/**
+ * Fingerprint of a transaction's UTC day, amount and description, used to skip re-imported rows.
+ * Must stay in sync with the SQL function transactions_content_hash (V8). The description is trimmed
+ * of ASCII whitespace and lower-cased in ASCII only, which the SQL side can match exactly: btrim with
+ * the same characters, and lower() under the "C" collation whatever the database's own collation is.
+ */
+public final class ContentHash {
+
+    // Space, tab, line feed, vertical tab, form feed, carriage return
+    private static final String WHITESPACE = " \t\n\u000B\f\r";
+
+    private ContentHash() {}
+
+    public static String of(OffsetDateTime transactionDate, BigDecimal amount, String description) {
+        String day = transactionDate.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate().toString();
+        String normalizedAmount = amount.setScale(2, RoundingMode.HALF_UP).toPlainString();
+        String normalizedDescription = description == null ? "" : normalize(description);
+        String key = day + '|' + normalizedAmount + '|' + normalizedDescription;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(key.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static String normalize(String description) {
+        int start = 0;
+        int end = description.length();
+        while (start < end && WHITESPACE.indexOf(description.charAt(start)) >= 0) {
+            start++;
+        }
+        while (end > start && WHITESPACE.indexOf(description.charAt(end - 1)) >= 0) {
+            end--;
+        }
+        StringBuilder normalized = new StringBuilder(end - start);
+        for (int i = start; i < end; i++) {
+            char c = description.charAt(i);
+            normalized.append(c >= 'A' && c <= 'Z' ? (char) (c + ('a' - 'A')) : c);
+        }
+        return normalized.toString();
+    }
+}
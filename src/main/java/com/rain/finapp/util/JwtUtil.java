@@ -1,29 +1,92 @@
 package com.rain.finapp.util;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import jakarta.annotation.PostConstruct;
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtUtil {
+    private static final Logger logger = LoggerFactory.getLogger(JwtUtil.class);
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
     @Value("${jwt.expiration}")
     private long expirationMs;
 
+    @Value("${jwt.verified-cache.max-size:10000}")
+    private long verifiedCacheMaxSize;
+
+    private final MeterRegistry meterRegistry;
+
     private Key key;
 
+    // Immutable and thread-safe once built, so one instance serves every request
+    private JwtParser parser;
+
+    // Verified claims keyed by a SHA-256 of the token, each entry expiring with its token; null when disabled (max-size 0)
+    private Cache<String, Claims> verifiedTokens;
+
+    private Timer verifyTimer;
+    private Counter cacheHits;
+
+    public JwtUtil(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
     @PostConstruct
     public void init() {
         key = Keys.hmacShaKeyFor(jwtSecret.getBytes(StandardCharsets.UTF_8));
+        parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
+        verifiedTokens = verifiedCacheMaxSize <= 0 ? null : Caffeine.newBuilder()
+                .maximumSize(verifiedCacheMaxSize)
+                .expireAfter(new Expiry<String, Claims>() {
+                    @Override
+                    public long expireAfterCreate(String tokenHash, Claims claims, long currentTime) {
+                        Date expiration = claims.getExpiration();
+                        long remainingMs = expiration != null ? expiration.getTime() - System.currentTimeMillis() : 0;
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(remainingMs, 0));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, Claims claims, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+        verifyTimer = Timer.builder("jwt.validation")
+                .description("Signature verification and parsing of JWTs not found in the verified-token cache")
+                .register(meterRegistry);
+        cacheHits = Counter.builder("jwt.validation.cache.hits")
+                .description("JWTs accepted from the verified-token cache without re-verifying")
+                .register(meterRegistry);
     }
 
     public String generateToken(UUID userId, String username) {
@@ -37,18 +100,35 @@ public class JwtUtil {
     }
 
     public Claims validateToken(String token) {
+        String tokenHash = verifiedTokens != null ? hash(token) : null;
+        Claims cached = tokenHash != null ? verifiedTokens.getIfPresent(tokenHash) : null;
+        if (cached != null) {
+            cacheHits.increment();
+            return cached;
+        }
+
+        long start = System.nanoTime();
         try {
-            System.out.println("Validating token: " + token.substring(0, Math.min(20, token.length())) + "...");
-            Claims claims = Jwts.parserBuilder()
-                    .setSigningKey(key)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
-            System.out.println("Token validation successful. Username: " + claims.get("username"));
+            Claims claims = parser.parseClaimsJws(token).getBody();
+            if (tokenHash != null) {
+                verifiedTokens.put(tokenHash, claims);
+            }
             return claims;
-        } catch (Exception e) {
-            System.out.println("Token validation failed: " + e.getClass().getSimpleName() + " - " + e.getMessage());
+        } catch (RuntimeException e) {
+            meterRegistry.counter("jwt.validation.failures", "reason", e.getClass().getSimpleName()).increment();
+            logger.debug("Token validation failed: {}", e.getClass().getSimpleName());
             throw e;
+        } finally {
+            verifyTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
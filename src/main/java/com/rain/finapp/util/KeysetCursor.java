@@ -0,0 +1,53 @@
+package com.rain.finapp.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for keyset pagination over (transactionDate, transactionId).
+ * Clients only ever see the Base64 form and hand it back unchanged.
+ */
+public final class KeysetCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final OffsetDateTime transactionDate;
+    private final UUID transactionId;
+
+    public KeysetCursor(OffsetDateTime transactionDate, UUID transactionId) {
+        this.transactionDate = transactionDate;
+        this.transactionId = transactionId;
+    }
+
+    public String encode() {
+        String raw = transactionDate.toInstant().toString() + SEPARATOR + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static KeysetCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            OffsetDateTime date = Instant.parse(raw.substring(0, separator)).atOffset(ZoneOffset.UTC);
+            UUID id = UUID.fromString(raw.substring(separator + 1));
+            return new KeysetCursor(date, id);
+        } catch (IllegalArgumentException | java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public OffsetDateTime getTransactionDate() {
+        return transactionDate;
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+}
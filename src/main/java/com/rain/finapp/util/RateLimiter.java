@@ -0,0 +1,92 @@
+package com.rain.finapp.util;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Token buckets keyed by client (IP or user id), stored in the GCRA form: each bucket is a single
+ * AtomicLong holding the instant at which it will be full again, advanced by CAS. A check does no
+ * locking and, once the key's bucket exists, no allocation.
+ */
+public class RateLimiter {
+
+    // A bucket that has never been used, or has fully refilled, reads as full for any "now"
+    private static final Function<String, AtomicLong> NEW_BUCKET = key -> new AtomicLong(Long.MIN_VALUE);
+    // Set on a bucket before eviction removes it, so a check racing the removal retries on a new bucket
+    // instead of spending its token in one that is no longer in the map
+    private static final long EVICTED = Long.MAX_VALUE;
+
+    private final String name;
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * @param capacity maximum burst of requests
+     * @param refillTokens tokens added back per refill period, spread evenly over it
+     */
+    public RateLimiter(String name, long capacity, long refillTokens, Duration refillPeriod) {
+        if (capacity <= 0 || refillTokens <= 0 || refillPeriod.isZero() || refillPeriod.isNegative()) {
+            throw new IllegalArgumentException("Rate limit '" + name + "' needs a positive capacity, refill and period");
+        }
+        this.name = name;
+        this.intervalNanos = Math.max(refillPeriod.toNanos() / refillTokens, 1);
+        this.burstNanos = capacity * intervalNanos;
+    }
+
+    /**
+     * Take one token from the key's bucket
+     * @return 0 if the request is allowed, otherwise the nanoseconds until a token is available
+     */
+    public long tryAcquire(String key, long nowNanos) {
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = buckets.computeIfAbsent(key, NEW_BUCKET);
+        }
+        while (true) {
+            long fullAt = bucket.get();
+            if (fullAt == EVICTED) {
+                buckets.remove(key, bucket);
+                bucket = buckets.computeIfAbsent(key, NEW_BUCKET);
+                continue;
+            }
+            long newFullAt = Math.max(fullAt, nowNanos) + intervalNanos;
+            long wait = newFullAt - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(fullAt, newFullAt)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * Drop buckets that have refilled completely; they are indistinguishable from new ones
+     * @return the number of buckets removed
+     */
+    public int evictIdle(long nowNanos) {
+        int evicted = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            AtomicLong bucket = entry.getValue();
+            long fullAt = bucket.get();
+            // Only a bucket still full at this instant is marked; a concurrent check makes the CAS fail
+            if (fullAt <= nowNanos && bucket.compareAndSet(fullAt, EVICTED)) {
+                buckets.remove(entry.getKey(), bucket);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,99 @@
+package com.rain.finapp.util;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque continuation token for keyset pagination over (sort key, transactionId), where the sort key
+ * is the transaction date, the amount or a full-text rank. The sort is part of the token so that a cursor is
+ * only ever resumed under the ordering that produced it.
+ */
+public final class SortKeyCursor {
+
+    private static final char SEPARATOR = '|';
+
+    private final String sort;
+    private final String key;
+    private final UUID transactionId;
+
+    private SortKeyCursor(String sort, String key, UUID transactionId) {
+        this.sort = sort;
+        this.key = key;
+        this.transactionId = transactionId;
+    }
+
+    public static SortKeyCursor ofDate(String sort, OffsetDateTime transactionDate, UUID transactionId) {
+        return new SortKeyCursor(sort, transactionDate.toInstant().toString(), transactionId);
+    }
+
+    public static SortKeyCursor ofAmount(String sort, BigDecimal amount, UUID transactionId) {
+        return new SortKeyCursor(sort, amount.toPlainString(), transactionId);
+    }
+
+    // Float.toString round-trips exactly, so the position compares equal to the rank PostgreSQL computes
+    public static SortKeyCursor ofRank(String sort, float rank, UUID transactionId) {
+        return new SortKeyCursor(sort, Float.toString(rank), transactionId);
+    }
+
+    public String encode() {
+        String raw = sort + SEPARATOR + key + SEPARATOR + transactionId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a token handed back by a client, rejecting one issued for a different sort
+     */
+    public static SortKeyCursor decode(String token, String expectedSort) {
+        String[] parts;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            parts = raw.split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        if (!parts[0].equals(expectedSort)) {
+            throw new IllegalArgumentException("Cursor was issued for a different sort");
+        }
+        try {
+            return new SortKeyCursor(parts[0], parts[1], UUID.fromString(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public OffsetDateTime getDateKey() {
+        try {
+            return Instant.parse(key).atOffset(ZoneOffset.UTC);
+        } catch (java.time.format.DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public BigDecimal getAmountKey() {
+        try {
+            return new BigDecimal(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public float getRankKey() {
+        try {
+            return Float.parseFloat(key);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public UUID getTransactionId() {
+        return transactionId;
+    }
+}
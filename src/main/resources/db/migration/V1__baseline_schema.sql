@@ -0,0 +1,60 @@
+-- Schema as created by hibernate.ddl-auto=update, up to the switch to Flyway.
+-- Every statement is idempotent: databases that already have these tables are
+-- baselined at version 0 and run this script to catch up.
+
+-- The baseline release, column for column and with Hibernate's constraint names
+CREATE TABLE IF NOT EXISTS users (
+    userId          uuid           NOT NULL,
+    created_at      timestamptz    NOT NULL,
+    email           varchar(255)   NOT NULL,
+    monthly_budget  numeric(19, 2),
+    password        varchar(255)   NOT NULL,
+    username        varchar(255)   NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (userId),
+    CONSTRAINT ukr43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS categories (
+    categoryId  uuid           NOT NULL,
+    budget      numeric(19, 2),
+    created_at  timestamptz    NOT NULL,
+    name        varchar(100)   NOT NULL,
+    updated_at  timestamptz,
+    user_id     uuid           NOT NULL,
+    CONSTRAINT categories_pkey PRIMARY KEY (categoryId),
+    CONSTRAINT fkghuylkwuedgl2qahxjt8g41kb FOREIGN KEY (user_id) REFERENCES users (userId)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    transactionId    uuid           NOT NULL,
+    amount           numeric(19, 2) NOT NULL,
+    category         varchar(100)   NOT NULL,
+    created_at       timestamptz    NOT NULL,
+    description      varchar(500),
+    transactionDate  timestamptz    NOT NULL,
+    type             varchar(20),
+    updated_at       timestamptz,
+    user_id          uuid           NOT NULL,
+    CONSTRAINT transactions_pkey PRIMARY KEY (transactionId),
+    CONSTRAINT fkqwv7rmvc8va8rep7piikrojds FOREIGN KEY (user_id) REFERENCES users (userId),
+    CONSTRAINT transactions_type_check CHECK (type IN ('INCOME', 'EXPENSE'))
+);
+
+-- Added after the baseline release, while ddl-auto still managed the schema.
+-- A database created by the baseline release has none of these yet.
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS content_hash varchar(64);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_user_content_hash ON transactions (user_id, content_hash);
+
+CREATE TABLE IF NOT EXISTS transaction_rollups (
+    user_id            uuid           NOT NULL,
+    period_start       date           NOT NULL,
+    category           varchar(100)   NOT NULL,
+    type               varchar(20)    NOT NULL,
+    total_amount       numeric(19, 2) NOT NULL,
+    transaction_count  bigint         NOT NULL,
+    updated_at         timestamptz,
+    CONSTRAINT transaction_rollups_pkey PRIMARY KEY (user_id, period_start, category, type),
+    CONSTRAINT transaction_rollups_type_check CHECK (type IN ('INCOME', 'EXPENSE'))
+);
@@ -0,0 +1,23 @@
+-- Indexes for the per-user access paths in TransactionRepository and CategoryRepository.
+
+-- Listing, keyset pages, date ranges and streaming: WHERE user_id = ? ORDER BY transactionDate DESC, transactionId DESC
+CREATE INDEX IF NOT EXISTS idx_transactions_user_date_id
+    ON transactions (user_id, transactionDate DESC, transactionId DESC);
+
+-- Category filters and DISTINCT category per user; the trailing date keeps category listings in index order
+CREATE INDEX IF NOT EXISTS idx_transactions_user_category_date
+    ON transactions (user_id, category, transactionDate DESC);
+
+-- findByUserAndName and friends; a user cannot have two categories with the same name.
+-- Duplicates could only come from races in older versions, keep the earliest of each.
+DELETE FROM categories c
+    USING categories d
+    WHERE c.user_id = d.user_id
+      AND c.name = d.name
+      AND (c.created_at, c.categoryId) > (d.created_at, d.categoryId);
+
+CREATE UNIQUE INDEX IF NOT EXISTS uk_categories_user_name ON categories (user_id, name);
+
+-- ddl-auto created the rollup key in column-name order (category first), which cannot serve per-user reads
+ALTER TABLE transaction_rollups DROP CONSTRAINT transaction_rollups_pkey;
+ALTER TABLE transaction_rollups ADD CONSTRAINT transaction_rollups_pkey PRIMARY KEY (user_id, period_start, category, type);
@@ -0,0 +1,23 @@
+-- Rotating refresh tokens. Only a SHA-256 of the token is stored; every rotation of one login shares
+-- a family_id so that replaying an already-rotated token can revoke the whole chain.
+
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    tokenId     uuid          NOT NULL,
+    user_id     uuid          NOT NULL,
+    token_hash  varchar(64)   NOT NULL,
+    family_id   uuid          NOT NULL,
+    expires_at  timestamptz   NOT NULL,
+    created_at  timestamptz   NOT NULL,
+    revoked_at  timestamptz,
+    CONSTRAINT refresh_tokens_pkey PRIMARY KEY (tokenId),
+    CONSTRAINT fk_refresh_tokens_user FOREIGN KEY (user_id) REFERENCES users (userId) ON DELETE CASCADE
+);
+
+-- Lookup on every refresh
+CREATE UNIQUE INDEX IF NOT EXISTS uk_refresh_tokens_hash ON refresh_tokens (token_hash);
+
+-- Family revocation on reuse and logout
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_family ON refresh_tokens (family_id);
+
+-- Batched purge of expired tokens
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_expires ON refresh_tokens (expires_at);
@@ -0,0 +1,12 @@
+-- Full-text search over transaction descriptions.
+-- description_tsv is a stored generated column, so PostgreSQL keeps it in step with description on every
+-- insert and update; the application never writes it and the entity does not map it.
+-- Adding a stored column rewrites the table once, under an exclusive lock.
+
+ALTER TABLE transactions
+    ADD COLUMN IF NOT EXISTS description_tsv tsvector
+    GENERATED ALWAYS AS (to_tsvector('english', COALESCE(description, ''))) STORED;
+
+-- Matches for description_tsv @@ query; combined with the user_id indexes through a bitmap AND
+CREATE INDEX IF NOT EXISTS idx_transactions_description_tsv
+    ON transactions USING GIN (description_tsv);
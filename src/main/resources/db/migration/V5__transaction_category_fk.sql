@@ -0,0 +1,118 @@
+-- Transactions reference their category by id instead of repeating its name on every row.
+-- Runs outside a transaction (see the .conf next to this file) so the backfill can commit batch by batch
+-- and indexes can be built CONCURRENTLY. No step holds a lock that blocks reads or writes for longer than
+-- a catalog change, and every step is idempotent, so a failed run can be repaired and run again.
+
+-- Expand step of a rolling change: instances still running the previous release keep reading and writing
+-- the category name, so the name column stays (nullable, since this release no longer writes it) and a
+-- trigger keeps the two columns in step. Dropping the name and making category_id NOT NULL is left to a
+-- later migration, shipped once no running release reads or writes the name.
+
+-- Nullable and without a default, so adding it only touches the catalog
+ALTER TABLE transactions ADD COLUMN IF NOT EXISTS category_id uuid;
+ALTER TABLE transactions ALTER COLUMN category DROP NOT NULL;
+
+-- A row written with only a name (previous release) gets its category id, creating the category if needed;
+-- a row written with only an id (this release) gets the name the previous release reads. A rename by this
+-- release only updates the category row, so the previous release keeps showing the old name on its rows.
+CREATE OR REPLACE FUNCTION transactions_sync_category() RETURNS trigger AS $$
+BEGIN
+    IF NEW.category IS NOT NULL AND (NEW.category_id IS NULL
+            OR (TG_OP = 'UPDATE' AND NEW.category IS DISTINCT FROM OLD.category
+                AND NEW.category_id IS NOT DISTINCT FROM OLD.category_id)) THEN
+        INSERT INTO categories (categoryId, user_id, name, created_at, updated_at)
+        VALUES (gen_random_uuid(), NEW.user_id, NEW.category, now(), now())
+        ON CONFLICT (user_id, name) DO NOTHING;
+        SELECT c.categoryId INTO NEW.category_id
+        FROM categories c WHERE c.user_id = NEW.user_id AND c.name = NEW.category;
+    ELSIF NEW.category_id IS NOT NULL AND (NEW.category IS NULL
+            OR (TG_OP = 'UPDATE' AND OLD.category_id IS NOT NULL
+                AND NEW.category_id IS DISTINCT FROM OLD.category_id)) THEN
+        SELECT c.name INTO NEW.category FROM categories c WHERE c.categoryId = NEW.category_id;
+    END IF;
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_transactions_sync_category ON transactions;
+CREATE TRIGGER trg_transactions_sync_category
+    BEFORE INSERT OR UPDATE OF category, category_id ON transactions
+    FOR EACH ROW EXECUTE FUNCTION transactions_sync_category();
+
+-- Every name used by a transaction becomes a category row; names already saved keep their row
+INSERT INTO categories (categoryId, user_id, name, created_at, updated_at)
+SELECT gen_random_uuid(), t.user_id, t.category, now(), now()
+FROM (SELECT DISTINCT user_id, category FROM transactions WHERE category_id IS NULL) t
+ON CONFLICT (user_id, name) DO NOTHING;
+
+-- Backfill in primary-key order, 5000 rows per committed batch, so row locks are held only briefly
+DO $$
+DECLARE
+    last_id   uuid := '00000000-0000-0000-0000-000000000000';
+    batch_end uuid;
+BEGIN
+    LOOP
+        -- uuid has no max(), so take the last id of the batch by ordering
+        SELECT b.transactionId INTO batch_end
+        FROM (SELECT transactionId FROM transactions
+              WHERE transactionId > last_id
+              ORDER BY transactionId
+              LIMIT 5000) b
+        ORDER BY b.transactionId DESC
+        LIMIT 1;
+        EXIT WHEN batch_end IS NULL;
+
+        UPDATE transactions t
+        SET category_id = c.categoryId
+        FROM categories c
+        WHERE t.transactionId > last_id
+          AND t.transactionId <= batch_end
+          AND t.category_id IS NULL
+          AND c.user_id = t.user_id
+          AND c.name = t.category;
+
+        last_id := batch_end;
+        COMMIT;
+    END LOOP;
+END $$;
+
+-- Rows written behind the batch cursor while it ran
+INSERT INTO categories (categoryId, user_id, name, created_at, updated_at)
+SELECT gen_random_uuid(), t.user_id, t.category, now(), now()
+FROM (SELECT DISTINCT user_id, category FROM transactions WHERE category_id IS NULL) t
+ON CONFLICT (user_id, name) DO NOTHING;
+
+UPDATE transactions t
+SET category_id = c.categoryId
+FROM categories c
+WHERE t.category_id IS NULL
+  AND c.user_id = t.user_id
+  AND c.name = t.category;
+
+ANALYZE transactions;
+
+-- An interrupted CONCURRENTLY build leaves an invalid index behind that IF NOT EXISTS would keep
+DO $$
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_index WHERE indexrelid = to_regclass('idx_transactions_user_category_id_date')
+               AND NOT indisvalid) THEN
+        DROP INDEX idx_transactions_user_category_id_date;
+    END IF;
+END $$;
+
+-- Per-category listings, counts and deletes; replaces the index on the name column
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_transactions_user_category_id_date
+    ON transactions (user_id, category_id, transactionDate DESC);
+
+-- NOT VALID skips the scan while the constraint is added; VALIDATE scans under a lock that allows writes
+DO $$
+BEGIN
+    IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = 'fk_transactions_category') THEN
+        ALTER TABLE transactions ADD CONSTRAINT fk_transactions_category
+            FOREIGN KEY (category_id) REFERENCES categories (categoryId) NOT VALID;
+    END IF;
+END $$;
+
+ALTER TABLE transactions VALIDATE CONSTRAINT fk_transactions_category;
+
+-- The name column, its trigger and idx_transactions_user_category_date stay for the previous release
@@ -0,0 +1,12 @@
+-- Build the transaction rollups from the ledger once, instead of on every application start.
+-- Flyway runs this before the application serves requests, and only once per database.
+-- Buckets that already exist are left alone: an instance may have upserted them while this ran,
+-- and RollupMaintenanceJob's scheduled verify repairs any bucket that ended up short.
+
+INSERT INTO transaction_rollups (user_id, period_start, category, type, total_amount, transaction_count, updated_at)
+SELECT t.user_id, CAST(date_trunc('month', t.transactionDate AT TIME ZONE 'UTC') AS date), c.name,
+       COALESCE(t.type, 'EXPENSE'), SUM(t.amount), COUNT(*), now()
+FROM transactions t
+JOIN categories c ON c.categoryId = t.category_id
+GROUP BY 1, 2, 3, 4
+ON CONFLICT (user_id, period_start, category, type) DO NOTHING;
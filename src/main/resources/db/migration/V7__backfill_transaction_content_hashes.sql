@@ -0,0 +1,51 @@
+-- Hash every transaction written before content_hash existed, once, instead of per user before each import.
+-- Runs outside a transaction (see the .conf next to this file) so the backfill commits batch by batch, like V5.
+-- The expression must match util.ContentHash: SHA-256 of UTC day | amount | trimmed lower-case description.
+
+CREATE OR REPLACE FUNCTION transactions_content_hash(transaction_date timestamptz, amount numeric, description text)
+RETURNS varchar(64) LANGUAGE sql IMMUTABLE AS $$
+    SELECT encode(sha256(convert_to(
+        to_char(transaction_date AT TIME ZONE 'UTC', 'YYYY-MM-DD') || '|' || amount::text || '|' ||
+        lower(btrim(COALESCE(description, ''))), 'UTF8')), 'hex')
+$$;
+
+-- Rows inserted without a hash (by the previous release during a rolling deploy) get one on the way in
+CREATE OR REPLACE FUNCTION transactions_fill_content_hash() RETURNS trigger AS $$
+BEGIN
+    NEW.content_hash := transactions_content_hash(NEW.transactionDate, NEW.amount, NEW.description);
+    RETURN NEW;
+END
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS trg_transactions_fill_content_hash ON transactions;
+CREATE TRIGGER trg_transactions_fill_content_hash
+    BEFORE INSERT ON transactions
+    FOR EACH ROW WHEN (NEW.content_hash IS NULL)
+    EXECUTE FUNCTION transactions_fill_content_hash();
+
+-- Primary-key order, 5000 rows per committed batch
+DO $$
+DECLARE
+    last_id   uuid := '00000000-0000-0000-0000-000000000000';
+    batch_end uuid;
+BEGIN
+    LOOP
+        SELECT b.transactionId INTO batch_end
+        FROM (SELECT transactionId FROM transactions
+              WHERE transactionId > last_id
+              ORDER BY transactionId
+              LIMIT 5000) b
+        ORDER BY b.transactionId DESC
+        LIMIT 1;
+        EXIT WHEN batch_end IS NULL;
+
+        UPDATE transactions
+        SET content_hash = transactions_content_hash(transactionDate, amount, description)
+        WHERE transactionId > last_id
+          AND transactionId <= batch_end
+          AND content_hash IS NULL;
+
+        last_id := batch_end;
+        COMMIT;
+    END LOOP;
+END $$;
@@ -0,0 +1,39 @@
+-- Normalize descriptions the same way as util.ContentHash, whatever the database's collation: trim only
+-- ASCII whitespace (btrim alone trims only spaces), and lower-case only ASCII letters (lower() otherwise
+-- follows the collation's LC_CTYPE, which Java's case mapping does not). Hashes computed under V7 differ
+-- for descriptions with other whitespace at the ends or non-ASCII capitals, so those rows are re-hashed.
+-- Runs outside a transaction (see the .conf next to this file) so the re-hash commits batch by batch, like V7.
+
+CREATE OR REPLACE FUNCTION transactions_content_hash(transaction_date timestamptz, amount numeric, description text)
+RETURNS varchar(64) LANGUAGE sql IMMUTABLE AS $$
+    SELECT encode(sha256(convert_to(
+        to_char(transaction_date AT TIME ZONE 'UTC', 'YYYY-MM-DD') || '|' || amount::text || '|' ||
+        lower(btrim(COALESCE(description, ''), E' \t\n\x0B\f\r') COLLATE "C"), 'UTF8')), 'hex')
+$$;
+
+-- Primary-key order, 5000 rows per committed batch
+DO $$
+DECLARE
+    last_id   uuid := '00000000-0000-0000-0000-000000000000';
+    batch_end uuid;
+BEGIN
+    LOOP
+        SELECT b.transactionId INTO batch_end
+        FROM (SELECT transactionId FROM transactions
+              WHERE transactionId > last_id
+              ORDER BY transactionId
+              LIMIT 5000) b
+        ORDER BY b.transactionId DESC
+        LIMIT 1;
+        EXIT WHEN batch_end IS NULL;
+
+        UPDATE transactions
+        SET content_hash = transactions_content_hash(transactionDate, amount, description)
+        WHERE transactionId > last_id
+          AND transactionId <= batch_end
+          AND content_hash IS DISTINCT FROM transactions_content_hash(transactionDate, amount, description);
+
+        last_id := batch_end;
+        COMMIT;
+    END LOOP;
+END $$;
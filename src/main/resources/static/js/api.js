@@ -4,12 +4,29 @@
 class ApiClient {
     constructor() {
         this.baseUrl = '';
+        // In-flight refresh shared by concurrent 401s in this tab; other tabs refreshing at the same moment
+        // are covered by the server's reuse grace, which renews their access token and leaves the new
+        // refresh cookie set by the first refresh in place
+        this.refreshPromise = null;
+    }
+
+    /**
+     * Exchange the refresh cookie for a new access token; resolves to true on success
+     */
+    refreshSession() {
+        if (!this.refreshPromise) {
+            this.refreshPromise = fetch('/api/refresh', { method: 'POST', credentials: 'include' })
+                .then(response => response.ok)
+                .catch(() => false)
+                .finally(() => { this.refreshPromise = null; });
+        }
+        return this.refreshPromise;
     }
 
     /**
      * Generic API request handler with error handling
      */
-    async request(url, options = {}) {
+    async request(url, options = {}, retried = false) {
         try {
             console.log('API Request:', url, options.method || 'GET');
             
@@ -26,8 +43,11 @@ class ApiClient {
             const response = await fetch(url, requestOptions);
             console.log('API Response status:', response.status);
 
-            // Handle 401 errors globally
+            // Handle 401 errors globally: refresh the session once and retry, otherwise log out
             if (response.status === 401) {
+                if (!retried && await this.refreshSession()) {
+                    return this.request(url, options, true);
+                }
                 console.warn('Authentication expired, redirecting to login');
                 window.authManager.logout();
                 return null;
@@ -124,6 +144,15 @@ class ApiClient {
         });
     }
 
+    /**
+     * Get everything the dashboard shows on load in one request
+     */
+    async getDashboard() {
+        return this.request('/api/dashboard', {
+            method: 'GET'
+        });
+    }
+
     /**
      * Get budget summary
      */
@@ -148,10 +148,10 @@ class DashboardController {
         window.transactionManager = this.transactionManager; // Global access for onclick handlers
 
         // Load data
-        await Promise.all([
-            this.loadUserData(),
-            this.loadTransactionData()
-        ]);
+        const dashboard = await this.loadTransactionData();
+        if (dashboard) {
+            this.renderUserData(dashboard);
+        }
 
         // Set default date for new transactions
         this.setDefaultDate();
@@ -165,59 +165,44 @@ class DashboardController {
         `);
     }
 
-    async loadUserData() {
-        try {
-            const userData = await window.apiClient.getCurrentUser();
-            
-            if (userData && !userData.error) {
-                const userInfoHtml = `
-                    <p class="user-email">${userData.email}</p>
-                `;
-                
-                const currentContent = document.getElementById('userInfo').innerHTML;
-                UIUtils.updateElement('userInfo', currentContent + userInfoHtml);
-            }
-        } catch (error) {
-            console.warn('Error loading user data:', error.message);
-        }
+    renderUserData(dashboard) {
+        const userInfoHtml = `
+            <p class="user-email">${dashboard.email}</p>
+        `;
+
+        const currentContent = document.getElementById('userInfo').innerHTML;
+        UIUtils.updateElement('userInfo', currentContent + userInfoHtml);
     }
 
+    /**
+     * Load the whole dashboard view (transactions, categories, budgets, monthly budget, recent activity)
+     * from /api/dashboard in one request, and render it
+     */
     async loadTransactionData() {
         try {
-            // Load transactions, categories, budgets, and monthly budget
-            await Promise.all([
-                this.transactionManager.loadTransactions(),
-                this.transactionManager.loadCategories(),
-                this.transactionManager.loadCategoryBudgets(),
-                this.loadMonthlyBudget(),
-                this.loadRecentActivity() // Add recent activity loading
-            ]);
+            const dashboard = await window.apiClient.getDashboard();
+            if (!dashboard) {
+                return null;
+            }
+
+            this.transactionManager.applyDashboard(dashboard);
+            this.monthlyBudget = parseFloat(dashboard.monthlyBudget) || 0;
+            this.renderRecentActivity(dashboard.recentTransactions);
 
             // Now render transactions with all data loaded
             this.transactionManager.renderTransactions();
 
-            // Update stats
-            this.updateStats();
+            // Update stats from the data just loaded
+            this.updateStats(true, dashboard.categoryCount);
 
             // Populate category filter
             this.populateCategoryFilter();
 
+            return dashboard;
         } catch (error) {
             console.error('Error loading transaction data:', error);
             UIUtils.showError('Failed to load transaction data');
-        }
-    }
-
-    /**
-     * Load and display recent transactions (last 30 days)
-     */
-    async loadRecentActivity() {
-        try {
-            const recentTransactions = await window.apiClient.get('/api/transactions/recent');
-            this.renderRecentActivity(recentTransactions);
-        } catch (error) {
-            console.warn('Could not load recent activity:', error);
-            // Don't show error to user since this is non-critical
+            return null;
         }
     }
 
@@ -262,28 +247,12 @@ class DashboardController {
         recentActivityElement.innerHTML = recentHTML;
     }
 
-    /**
-     * Load monthly budget from the API
-     */
-    async loadMonthlyBudget() {
-        try {
-            const response = await window.apiClient.getMonthlyBudget();
-            if (response && response.monthlyBudget !== undefined) {
-                this.monthlyBudget = parseFloat(response.monthlyBudget) || 0;
-            } else {
-                this.monthlyBudget = 0;
-            }
-        } catch (error) {
-            console.warn('Error loading monthly budget:', error.message);
-            this.monthlyBudget = 0;
-        }
-    }
-
     /**
      * Update dashboard stats. If skipReload is true, uses current transactionManager data.
      * @param {boolean} skipReload
+     * @param {number|null} knownCategoryCount category count already loaded, to skip fetching it
      */
-    async updateStats(skipReload = false) {
+    async updateStats(skipReload = false, knownCategoryCount = null) {
         
         if (!skipReload) {
             
@@ -302,10 +271,14 @@ class DashboardController {
 
         //Get category count from backend
         let categoryCount = categories.length; // fallback to local count
-        try {
-            categoryCount = await window.apiClient.get('/api/transactions/categories/count');
-        } catch (error) {
-            console.warn('Could not fetch category count from backend:', error);
+        if (knownCategoryCount !== null) {
+            categoryCount = knownCategoryCount;
+        } else {
+            try {
+                categoryCount = await window.apiClient.get('/api/transactions/categories/count');
+            } catch (error) {
+                console.warn('Could not fetch category count from backend:', error);
+            }
         }
 
         // Use monthly transaction count
@@ -511,103 +484,6 @@ class DashboardController {
         this.applyFilters();
     }
 
-    applyFilters() {
-        const categoryFilter = document.getElementById('categoryFilter');
-        const dateFilter = document.getElementById('dateFilter');
-        const startDateFilter = document.getElementById('startDateFilter');
-        const endDateFilter = document.getElementById('endDateFilter');
-        const minAmountFilter = document.getElementById('minAmountFilter');
-        const maxAmountFilter = document.getElementById('maxAmountFilter');
-        const typeFilter = document.getElementById('typeFilter');
-        const descriptionFilter = document.getElementById('descriptionFilter');
-        
-        // Don't exit early if categoryFilter is missing - other filters should still work
-        
-        const selectedCategory = categoryFilter ? categoryFilter.value : '';
-        const selectedDate = dateFilter ? dateFilter.value : '';
-        const startDate = startDateFilter ? startDateFilter.value : '';
-        const endDate = endDateFilter ? endDateFilter.value : '';
-        const minAmount = minAmountFilter ? parseFloat(minAmountFilter.value) : null;
-        const maxAmount = maxAmountFilter ? parseFloat(maxAmountFilter.value) : null;
-        const selectedType = typeFilter ? typeFilter.value : '';
-        const searchDescription = descriptionFilter ? descriptionFilter.value.toLowerCase() : '';
-
-        let filteredTransactions = [...this.transactionManager.transactions];
-
-        // Apply category filter
-        if (selectedCategory) {
-            filteredTransactions = filteredTransactions.filter(t => t.category === selectedCategory);
-        }
-
-        // Apply transaction type filter
-        if (selectedType) {
-            filteredTransactions = filteredTransactions.filter(t => t.type === selectedType);
-        }
-
-        // Apply description filter
-        if (searchDescription) {
-            filteredTransactions = filteredTransactions.filter(t => 
-                (t.description || '').toLowerCase().includes(searchDescription)
-            );
-        }
-
-        // Apply amount range filter
-        if (!isNaN(minAmount) || !isNaN(maxAmount)) {
-            filteredTransactions = filteredTransactions.filter(t => {
-                const amount = parseFloat(t.amount);
-                let inRange = true;
-                
-                if (!isNaN(minAmount) && minAmount !== null) {
-                    inRange = inRange && (amount >= minAmount);
-                }
-                if (!isNaN(maxAmount) && maxAmount !== null) {
-                    inRange = inRange && (amount <= maxAmount);
-                }
-                
-                return inRange;
-            });
-        }
-
-        // Apply date filters with proper timezone handling
-        if (selectedDate) {
-            // Specific date filter (overrides date range)
-            filteredTransactions = filteredTransactions.filter(t => {
-                const transactionDate = new Date(t.transactionDate);
-                const filterDate = new Date(selectedDate + 'T00:00:00');
-                
-                // Compare dates in local timezone by getting just the date parts
-                const transactionDateLocal = new Date(transactionDate.getFullYear(), transactionDate.getMonth(), transactionDate.getDate());
-                const filterDateLocal = new Date(filterDate.getFullYear(), filterDate.getMonth(), filterDate.getDate());
-                
-                return transactionDateLocal.getTime() === filterDateLocal.getTime();
-            });
-        } else if (startDate || endDate) {
-            // Date range filter
-            filteredTransactions = filteredTransactions.filter(t => {
-                const transactionDate = new Date(t.transactionDate);
-                const transactionDateLocal = new Date(transactionDate.getFullYear(), transactionDate.getMonth(), transactionDate.getDate());
-                
-                let inRange = true;
-                
-                if (startDate) {
-                    const startDateLocal = new Date(startDate + 'T00:00:00');
-                    const startDateLocalOnly = new Date(startDateLocal.getFullYear(), startDateLocal.getMonth(), startDateLocal.getDate());
-                    inRange = inRange && (transactionDateLocal.getTime() >= startDateLocalOnly.getTime());
-                }
-                if (endDate) {
-                    const endDateLocal = new Date(endDate + 'T00:00:00');
-                    const endDateLocalOnly = new Date(endDateLocal.getFullYear(), endDateLocal.getMonth(), endDateLocal.getDate());
-                    inRange = inRange && (transactionDateLocal.getTime() <= endDateLocalOnly.getTime());
-                }
-                
-                return inRange;
-            });
-        }
-
-        // Update display with filtered transactions
-        this.displayFilteredTransactions(filteredTransactions);
-    }
-
     displayFilteredTransactions(transactions) {
         // Get the category container
         const container = document.getElementById('transactionList');
@@ -1198,94 +1074,113 @@ class DashboardController {
         if (this.currentViewMode === 'monthly') {
             // Re-render monthly view with filters applied
             this.renderMonthlyView();
-        } else {
-            // Use existing filter logic for all-time view
-            const categoryFilter = document.getElementById('categoryFilter');
-            const dateFilter = document.getElementById('dateFilter');
-            const startDateFilter = document.getElementById('startDateFilter');
-            const endDateFilter = document.getElementById('endDateFilter');
-            const minAmountFilter = document.getElementById('minAmountFilter');
-            const maxAmountFilter = document.getElementById('maxAmountFilter');
-            const typeFilter = document.getElementById('typeFilter');
-            const descriptionFilter = document.getElementById('descriptionFilter');
-            
-            // Don't exit early if categoryFilter is missing - other filters should still work
-            
-            const selectedCategory = categoryFilter ? categoryFilter.value : '';
-            const selectedDate = dateFilter ? dateFilter.value : '';
-            const startDate = startDateFilter ? startDateFilter.value : '';
-            const endDate = endDateFilter ? endDateFilter.value : '';
-            const minAmount = minAmountFilter ? parseFloat(minAmountFilter.value) : null;
-            const maxAmount = maxAmountFilter ? parseFloat(maxAmountFilter.value) : null;
-            const selectedType = typeFilter ? typeFilter.value : '';
-            const searchDescription = descriptionFilter ? descriptionFilter.value.toLowerCase() : '';
-
-            let filteredTransactions = [...this.transactionManager.transactions];
-
-            // Apply category filter
-            if (selectedCategory) {
-                filteredTransactions = filteredTransactions.filter(t => t.category === selectedCategory);
-            }
+            return;
+        }
+        // Amount and description fire on every keystroke; search once typing pauses
+        clearTimeout(this.filterTimer);
+        this.filterTimer = setTimeout(() => this.searchTransactions(), 250);
+    }
 
-            // Apply transaction type filter
-            if (selectedType) {
-                filteredTransactions = filteredTransactions.filter(t => t.type === selectedType);
-            }
+    /**
+     * Query parameters for /api/transactions/search from the filter inputs, or null when no filter is set
+     */
+    buildSearchParams() {
+        const value = id => {
+            const element = document.getElementById(id);
+            return element ? element.value.trim() : '';
+        };
+        const params = new URLSearchParams();
+
+        if (value('categoryFilter')) params.append('category', value('categoryFilter'));
+        if (value('typeFilter')) params.set('type', value('typeFilter'));
+        if (value('descriptionFilter')) params.set('q', value('descriptionFilter'));
+        if (!isNaN(parseFloat(value('minAmountFilter')))) params.set('minAmount', value('minAmountFilter'));
+        if (!isNaN(parseFloat(value('maxAmountFilter')))) params.set('maxAmount', value('maxAmountFilter'));
+
+        // Dates are picked in local time; a specific date overrides the range
+        const selectedDate = value('dateFilter');
+        const startDate = selectedDate || value('startDateFilter');
+        const endDate = selectedDate || value('endDateFilter');
+        if (startDate) params.set('startDate', new Date(startDate + 'T00:00:00').toISOString());
+        if (endDate) params.set('endDate', new Date(endDate + 'T23:59:59.999').toISOString());
+
+        if ([...params.keys()].length === 0) return null;
+        params.set('size', '100');
+        return params;
+    }
 
-            // Apply description filter
-            if (searchDescription) {
-                filteredTransactions = filteredTransactions.filter(t => 
-                    (t.description || '').toLowerCase().includes(searchDescription)
-                );
-            }
+    /**
+     * Let the database filter and order the transactions, showing the first keyset page;
+     * further pages are fetched only when the user asks for them
+     */
+    async searchTransactions() {
+        const params = this.buildSearchParams();
+        if (!params) {
+            this.search = null;
+            this.displayFilteredTransactions(this.transactionManager.transactions);
+            return;
+        }
+        // A newer search supersedes any still in flight, including its "load more"
+        this.search = { params, results: [], cursor: null };
+        await this.loadSearchPage(this.search);
+    }
 
-            // Apply amount range filter
-            if (!isNaN(minAmount) || !isNaN(maxAmount)) {
-                filteredTransactions = filteredTransactions.filter(t => {
-                    const amount = parseFloat(t.amount);
-                    let inRange = true;
-                    
-                    if (!isNaN(minAmount) && minAmount !== null) {
-                        inRange = inRange && (amount >= minAmount);
-                    }
-                    if (!isNaN(maxAmount) && maxAmount !== null) {
-                        inRange = inRange && (amount <= maxAmount);
-                    }
-                    
-                    return inRange;
-                });
-            }
+    /**
+     * Fetch the next page of the current search and show everything loaded so far
+     */
+    async loadMoreSearchResults() {
+        if (this.search && this.search.cursor && !this.search.loading) {
+            await this.loadSearchPage(this.search);
+        }
+    }
 
-            // Apply date filters
-            if (selectedDate) {
-                const filterDate = new Date(selectedDate);
-                filteredTransactions = filteredTransactions.filter(t => {
-                    const transactionDate = new Date(t.transactionDate);
-                    return transactionDate.toDateString() === filterDate.toDateString();
-                });
-            } else if (startDate || endDate) {
-                filteredTransactions = filteredTransactions.filter(t => {
-                    const transactionDate = new Date(t.transactionDate);
-                    let inRange = true;
-                    
-                    if (startDate) {
-                        const start = new Date(startDate);
-                        inRange = inRange && (transactionDate >= start);
-                    }
-                    if (endDate) {
-                        const end = new Date(endDate);
-                        end.setHours(23, 59, 59, 999); // Include the entire end date
-                        inRange = inRange && (transactionDate <= end);
-                    }
-                    
-                    return inRange;
-                });
+    async loadSearchPage(search) {
+        search.loading = true;
+        try {
+            if (search.cursor) search.params.set('cursor', search.cursor);
+            const page = await window.apiClient.get(`/api/transactions/search?${search.params}`);
+            if (!page || search !== this.search) return;
+            search.results.push(...page.items);
+            search.cursor = page.hasMore ? page.nextCursor : null;
+            this.showSearchResults(search);
+        } catch (error) {
+            console.error('Error searching transactions:', error);
+            UIUtils.showError('Failed to filter transactions');
+            if (search === this.search) {
+                // Keep what was loaded and offer the page again
+                if (search.results.length > 0) {
+                    this.showSearchResults(search);
+                }
             }
-
-            // Display filtered transactions using existing method
-            this.displayFilteredTransactions(filteredTransactions);
+        } finally {
+            search.loading = false;
         }
     }
+
+    showSearchResults(search) {
+        this.displayFilteredTransactions(search.results);
+        this.renderLoadMore(search);
+    }
+
+    /**
+     * Append a "Load more" button under the results while the search has further pages
+     */
+    renderLoadMore(search) {
+        const container = document.getElementById('transactionList');
+        if (!container || !search.cursor) return;
+
+        const wrapper = document.createElement('div');
+        wrapper.className = 'load-more';
+        wrapper.innerHTML = `
+            <span>Showing the first ${search.results.length} matching transactions</span>
+            <button type="button" class="btn-outline">Load more</button>
+        `;
+        wrapper.querySelector('button').addEventListener('click', event => {
+            event.target.disabled = true;
+            this.loadMoreSearchResults();
+        });
+        container.appendChild(wrapper);
+    }
 }
 
 // Initialize when DOM is loaded
@@ -72,6 +72,16 @@ class TransactionManager {
         }
     }
 
+    /**
+     * Take transactions, categories and category budgets from a /api/dashboard response
+     */
+    applyDashboard(dashboard) {
+        this.transactions = dashboard.transactions || [];
+        this.categories = Array.isArray(dashboard.categories) ? dashboard.categories : [];
+        this.categoryBudgets = dashboard.categoryBudgets || {};
+        this.renderCategoryOptions();
+    }
+
     /**
      * Create a new transaction
      */
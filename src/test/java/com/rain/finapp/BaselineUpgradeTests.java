@@ -0,0 +1,122 @@
+package com.rain.finapp;
+
+import com.rain.finapp.util.ContentHash;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Upgrades a database created by the baseline release (ddl-auto, no Flyway history) with the migrations,
+ * as the first deploy with Flyway does. Runs in a database of its own, created next to the test database,
+ * so the connecting user needs CREATEDB.
+ */
+@SpringBootTest
+class BaselineUpgradeTests {
+
+    private static final String SCHEMA_COLUMNS = """
+            SELECT table_name, column_name, data_type, character_maximum_length, numeric_precision,
+                   numeric_scale, is_nullable
+            FROM information_schema.columns
+            WHERE table_schema = 'public'
+              AND table_name IN ('users', 'categories', 'transactions', 'transaction_rollups', 'refresh_tokens')
+            ORDER BY table_name, column_name
+            """;
+
+    @Autowired
+    private DataSourceProperties dataSourceProperties;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private Flyway flyway;
+
+    private String database;
+    private DriverManagerDataSource dataSource;
+
+    @BeforeEach
+    void createBaselineReleaseDatabase() {
+        database = "finapp_upgrade_" + UUID.randomUUID().toString().replace("-", "");
+        jdbcTemplate.execute("CREATE DATABASE " + database);
+
+        String url = dataSourceProperties.determineUrl().replaceFirst("/[^/?]*(\\?.*)?$", "/" + database + "$1");
+        dataSource = new DriverManagerDataSource(url, dataSourceProperties.determineUsername(),
+                dataSourceProperties.determinePassword());
+        new ResourceDatabasePopulator(new ClassPathResource("db/baseline-release.sql")).execute(dataSource);
+    }
+
+    @AfterEach
+    void dropDatabase() {
+        jdbcTemplate.execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+    }
+
+    @Test
+    void migratesToTheSameSchemaAsAFreshDatabase() {
+        Flyway upgrade = upgradeFlyway();
+
+        MigrateResult result = upgrade.migrate();
+
+        assertThat(result.success).isTrue();
+        assertThat(upgrade.info().current().getVersion()).isEqualTo(flyway.info().current().getVersion());
+        assertThat(new JdbcTemplate(dataSource).queryForList(SCHEMA_COLUMNS))
+                .isEqualTo(jdbcTemplate.queryForList(SCHEMA_COLUMNS));
+    }
+
+    @Test
+    void backfillsTheBaselineReleaseRows() {
+        upgradeFlyway().migrate();
+        JdbcTemplate upgraded = new JdbcTemplate(dataSource);
+
+        // Every transaction points at a category row, created for names that had none
+        assertThat(upgraded.queryForObject(
+                "SELECT count(*) FROM transactions WHERE category_id IS NULL", Long.class)).isZero();
+        assertThat(upgraded.queryForList("SELECT name FROM categories ORDER BY name", String.class))
+                .containsExactly("Coffee", "Salary");
+
+        // Content hashes match the ones imports compute
+        List<String[]> hashes = upgraded.query(
+                "SELECT transactionDate, amount, description, content_hash FROM transactions",
+                (rs, rowNum) -> new String[] {
+                        ContentHash.of(rs.getObject("transactionDate", OffsetDateTime.class),
+                                rs.getBigDecimal("amount"), rs.getString("description")),
+                        rs.getString("content_hash")});
+        assertThat(hashes).hasSize(4).allSatisfy(hash -> assertThat(hash[1]).isEqualTo(hash[0]));
+
+        assertThat(upgraded.queryForList("""
+                SELECT category, type, total_amount, transaction_count FROM transaction_rollups
+                WHERE period_start = DATE '2025-06-01' ORDER BY category
+                """)).containsExactly(
+                Map.of("category", "Coffee", "type", "EXPENSE", "total_amount", new BigDecimal("11.25"),
+                        "transaction_count", 3L),
+                Map.of("category", "Salary", "type", "INCOME", "total_amount", new BigDecimal("3200.00"),
+                        "transaction_count", 1L));
+    }
+
+    // The spring.flyway.* settings in application.properties
+    private Flyway upgradeFlyway() {
+        return Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration")
+                .baselineOnMigrate(true)
+                .baselineVersion("0")
+                .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
+                .load();
+    }
+}
@@ -0,0 +1,106 @@
+package com.rain.finapp.controller;
+
+import com.rain.finapp.config.CookieConfig;
+import com.rain.finapp.model.User;
+import com.rain.finapp.repository.UserRepository;
+import com.rain.finapp.service.LedgerVersions;
+import com.rain.finapp.util.JwtUtil;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.servlet.http.Cookie;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The GET endpoints tagged with the ledger version, called through the whole filter chain with an
+ * access token cookie. Hibernate statistics count the JDBC statements each request prepares; the
+ * scheduled jobs are off so that nothing else prepares any meanwhile.
+ */
+@SpringBootTest(properties = {"refresh-token.purge-cron=-", "rollup.verify.cron=-"})
+@AutoConfigureMockMvc
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private LedgerVersions ledgerVersions;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CookieConfig cookieConfig;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private User user;
+    private Cookie accessToken;
+
+    @BeforeEach
+    void createUser() {
+        String name = "etag-" + UUID.randomUUID();
+        user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("not-a-hash");
+        user = userRepository.save(user);
+        accessToken = new Cookie(cookieConfig.getName(), jwtUtil.generateToken(user.getUserId(), user.getUsername()));
+    }
+
+    @AfterEach
+    void deleteUser() {
+        userRepository.deleteById(user.getUserId());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/transactions", "/api/transactions/recent", "/api/transactions/category-budgets",
+            "/api/user/monthly-budget", "/api/dashboard"})
+    void matchingIfNoneMatchIsAnsweredWithoutQueries(String path) throws Exception {
+        String etag = mockMvc.perform(get(path).cookie(accessToken))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, ledgerVersions.etag(user.getUserId())))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        mockMvc.perform(get(path).cookie(accessToken).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/transactions", "/api/dashboard"})
+    void bumpedVersionGetsAFullResponse(String path) throws Exception {
+        String etag = ledgerVersions.etag(user.getUserId());
+
+        ledgerVersions.bump(user.getUserId());
+
+        String newEtag = ledgerVersions.etag(user.getUserId());
+        assertThat(newEtag).isNotEqualTo(etag);
+        mockMvc.perform(get(path).cookie(accessToken).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, newEtag));
+    }
+}
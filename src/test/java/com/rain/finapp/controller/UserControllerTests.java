@@ -0,0 +1,97 @@
+package com.rain.finapp.controller;
+
+import com.rain.finapp.config.CookieConfig;
+import com.rain.finapp.model.User;
+import com.rain.finapp.repository.UserRepository;
+import com.rain.finapp.util.JwtUtil;
+import jakarta.servlet.http.Cookie;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The signed-in user's own endpoints, called through the whole filter chain with an access token cookie.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class UserControllerTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private CookieConfig cookieConfig;
+
+    private User user;
+    private Cookie accessToken;
+
+    @BeforeEach
+    void createUser() {
+        String name = "me-" + UUID.randomUUID();
+        user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("not-a-hash");
+        user = userRepository.save(user);
+        accessToken = new Cookie(cookieConfig.getName(), jwtUtil.generateToken(user.getUserId(), user.getUsername()));
+    }
+
+    @AfterEach
+    void deleteUser() {
+        userRepository.deleteById(user.getUserId());
+    }
+
+    @Test
+    void meDescribesTheSignedInUser() throws Exception {
+        mockMvc.perform(get("/api/me").cookie(accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userId").value(user.getUserId().toString()))
+                .andExpect(jsonPath("$.username").value(user.getUsername()))
+                .andExpect(jsonPath("$.email").value(user.getEmail()))
+                .andExpect(jsonPath("$.monthlyBudget").value(0));
+    }
+
+    @Test
+    void updatedBudgetIsReadBackWithANewEtag() throws Exception {
+        String etag = mockMvc.perform(get("/api/user/monthly-budget").cookie(accessToken))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyBudget").value(0))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/user/monthly-budget").cookie(accessToken)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"monthlyBudget\": \"1250.50\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyBudget").value(1250.50));
+
+        String newEtag = mockMvc.perform(get("/api/user/monthly-budget").cookie(accessToken)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.monthlyBudget").value(1250.50))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(newEtag).isNotEqualTo(etag);
+        assertThat(userRepository.findById(user.getUserId()).orElseThrow().getMonthlyBudget())
+                .isEqualByComparingTo(new BigDecimal("1250.50"));
+    }
+}
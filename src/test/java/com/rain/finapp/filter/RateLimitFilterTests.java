@@ -0,0 +1,71 @@
+package com.rain.finapp.filter;
+
+import com.rain.finapp.config.CookieConfig;
+import com.rain.finapp.config.RateLimitConfig;
+import com.rain.finapp.util.JwtUtil;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private RateLimitFilter filter(long globalCapacity) {
+        RateLimitConfig config = new RateLimitConfig();
+        config.setGlobal(new RateLimitConfig.Limit(globalCapacity, 1, 60));
+        // No cookies are sent, so the token is never validated
+        return new RateLimitFilter(config, new JwtUtil(meterRegistry), new CookieConfig(), meterRegistry);
+    }
+
+    private static MockHttpServletResponse send(RateLimitFilter filter, String method, String uri, String clientIp)
+            throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        request.setRemoteAddr(clientIp);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    @Test
+    void rejectsWithRetryAfterInWholeSeconds() throws Exception {
+        RateLimitFilter filter = filter(1);
+
+        assertThat(send(filter, "GET", "/api/transactions", "10.0.0.1").getStatus()).isEqualTo(200);
+        MockHttpServletResponse rejected = send(filter, "GET", "/api/transactions", "10.0.0.1");
+
+        assertThat(rejected.getStatus()).isEqualTo(429);
+        // One token per 60 seconds, drained just now
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("60");
+        assertThat(meterRegistry.get("rate.limit.rejections").tag("limit", "global").counter().count()).isEqualTo(1);
+
+        // Another client address has its own bucket
+        assertThat(send(filter, "GET", "/api/transactions", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void pagesAndStaticAssetsDoNotUseTheGlobalBucket() throws Exception {
+        RateLimitFilter filter = filter(1);
+
+        for (String uri : new String[] {"/dashboard", "/dashboard.html", "/js/dashboard.js", "/css/style.css", "/"}) {
+            assertThat(send(filter, "GET", uri, "10.0.0.1").getStatus()).as(uri).isEqualTo(200);
+        }
+        assertThat(send(filter, "GET", "/api/transactions", "10.0.0.1").getStatus()).isEqualTo(200);
+        assertThat(send(filter, "GET", "/api/transactions", "10.0.0.1").getStatus()).isEqualTo(429);
+    }
+
+    @Test
+    void refreshSharesTheAuthBucket() throws Exception {
+        RateLimitFilter filter = filter(100);
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(send(filter, "POST", "/api/refresh", "10.0.0.1").getStatus()).isEqualTo(200);
+        }
+        assertThat(send(filter, "POST", "/api/login", "10.0.0.1").getStatus()).isEqualTo(429);
+        assertThat(send(filter, "POST", "/api/login", "10.0.0.2").getStatus()).isEqualTo(200);
+    }
+}
@@ -0,0 +1,81 @@
+package com.rain.finapp.repository;
+
+import com.rain.finapp.dto.TransactionRequest;
+import com.rain.finapp.dto.TransactionSearchHit;
+import com.rain.finapp.model.TransactionType;
+import com.rain.finapp.model.User;
+import com.rain.finapp.service.TransactionService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Full-text search highlights, which clients render as HTML. Each test rolls back its user and rows.
+ */
+@SpringBootTest
+@Transactional
+class TransactionSearchTests {
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String name = "search-" + UUID.randomUUID();
+        user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("not-a-hash");
+        user = userRepository.save(user);
+    }
+
+    @Test
+    void highlightEscapesTheDescription() {
+        String description = "<script>alert(\"coffee\")</script> Coffee & <b>cake</b> 'to go'";
+        save(description);
+
+        String highlight = search("coffee").get(0).getHighlight();
+
+        assertThat(highlight).doesNotContain("<script>", "<b>")
+                .contains("&lt;script&gt;", "<mark>Coffee</mark>", "&amp;");
+        // Only the marks were added
+        assertThat(HtmlUtils.htmlUnescape(highlight.replace("<mark>", "").replace("</mark>", "")))
+                .isEqualTo(description);
+    }
+
+    @Test
+    void markCharactersInTheDescriptionAreNotTurnedIntoTags() {
+        save("Coffee \u0002beans\u0003");
+
+        assertThat(search("coffee").get(0).getHighlight()).isEqualTo("<mark>Coffee</mark> beans");
+    }
+
+    private void save(String description) {
+        transactionService.createTransaction(user.getUserId(), user.getUsername(), new TransactionRequest(
+                new BigDecimal("4.20"), "Coffee", description, TransactionType.EXPENSE, OffsetDateTime.now()));
+    }
+
+    private List<TransactionSearchHit> search(String query) {
+        List<TransactionSearchHit> hits = transactionRepository.searchDescriptions(user.getUserId(), query, null, null, 10);
+        assertThat(hits).hasSize(1);
+        return hits;
+    }
+}
@@ -0,0 +1,139 @@
+package com.rain.finapp.service;
+
+import com.rain.finapp.dto.TransactionRequest;
+import com.rain.finapp.model.TransactionType;
+import com.rain.finapp.model.User;
+import com.rain.finapp.repository.TransactionRepository;
+import com.rain.finapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Version bumps against real transactions: a bump only counts once its transaction commits.
+ */
+@SpringBootTest
+class LedgerVersionsTests {
+
+    @Autowired
+    private LedgerVersions ledgerVersions;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        String name = "ledger-" + UUID.randomUUID();
+        user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("not-a-hash");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void deleteUser() {
+        // Transactions and categories reference the user without ON DELETE CASCADE
+        UUID userId = user.getUserId();
+        jdbcTemplate.update("DELETE FROM transaction_rollups WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM categories WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE userId = ?", userId);
+    }
+
+    @Test
+    void etagIsStableUntilBumped() {
+        UUID userId = user.getUserId();
+        String etag = ledgerVersions.etag(userId);
+
+        assertThat(ledgerVersions.etag(userId)).isEqualTo(etag);
+        // Other users' bumps do not move it
+        ledgerVersions.bump(UUID.randomUUID());
+        assertThat(ledgerVersions.etag(userId)).isEqualTo(etag);
+
+        ledgerVersions.bump(userId);
+        assertThat(ledgerVersions.etag(userId)).isNotEqualTo(etag);
+    }
+
+    @Test
+    void bumpTakesEffectOnlyAfterCommit() {
+        UUID userId = user.getUserId();
+        String before = ledgerVersions.etag(userId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ledgerVersions.bump(userId);
+            assertThat(ledgerVersions.etag(userId)).isEqualTo(before);
+        });
+
+        assertThat(ledgerVersions.etag(userId)).isNotEqualTo(before);
+    }
+
+    @Test
+    void rolledBackBumpLeavesTheEtagUnchanged() {
+        UUID userId = user.getUserId();
+        String before = ledgerVersions.etag(userId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            ledgerVersions.bump(userId);
+            status.setRollbackOnly();
+        });
+
+        assertThat(ledgerVersions.etag(userId)).isEqualTo(before);
+    }
+
+    @Test
+    void committedWriteChangesTheEtag() {
+        UUID userId = user.getUserId();
+        String before = ledgerVersions.etag(userId);
+
+        transactionService.createTransaction(userId, user.getUsername(), expense());
+
+        assertThat(ledgerVersions.etag(userId)).isNotEqualTo(before);
+    }
+
+    @Test
+    void rolledBackWriteLeavesTheEtagUnchanged() {
+        UUID userId = user.getUserId();
+        String before = ledgerVersions.etag(userId);
+
+        transactionTemplate.executeWithoutResult(status -> {
+            transactionService.createTransaction(userId, user.getUsername(), expense());
+            status.setRollbackOnly();
+        });
+
+        assertThat(transactionRepository.countByUser(user)).isZero();
+        assertThat(ledgerVersions.etag(userId)).isEqualTo(before);
+    }
+
+    private static TransactionRequest expense() {
+        return new TransactionRequest(new BigDecimal("12.50"), "Groceries", "ledger version test",
+                TransactionType.EXPENSE, OffsetDateTime.now());
+    }
+}
@@ -0,0 +1,151 @@
+package com.rain.finapp.service;
+
+import com.rain.finapp.model.User;
+import com.rain.finapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs each rotation in its own committed transaction, as the refresh endpoint does, with a short
+ * reuse grace so that its expiry can be tested.
+ */
+@SpringBootTest(properties = "refresh-token.reuse-grace=1s")
+class RefreshTokenServiceTests {
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String name = "rt-" + UUID.randomUUID();
+        user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("not-a-hash");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void deleteUser() {
+        // Its refresh tokens go with it (ON DELETE CASCADE)
+        userRepository.deleteById(user.getUserId());
+    }
+
+    @Test
+    void rotateReplacesTheToken() {
+        String first = refreshTokenService.issue(user);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first).orElseThrow();
+
+        assertThat(rotation.refreshToken()).isNotEqualTo(first);
+        assertThat(rotation.userId()).isEqualTo(user.getUserId());
+        assertThat(rotation.username()).isEqualTo(user.getUsername());
+        assertThat(refreshTokenService.rotate(rotation.refreshToken())).isPresent();
+    }
+
+    @Test
+    void unknownTokenIsRejected() {
+        assertThat(refreshTokenService.rotate("not-a-token")).isEmpty();
+    }
+
+    @Test
+    void tokenPresentedAgainWithinGraceGetsNoRefreshToken() {
+        String first = refreshTokenService.issue(user);
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first).orElseThrow();
+        RefreshTokenService.Rotation again = refreshTokenService.rotate(first).orElseThrow();
+
+        // Enough to mint an access token, but the successor is not handed out again
+        assertThat(again.userId()).isEqualTo(user.getUserId());
+        assertThat(again.refreshToken()).isNull();
+        // The family is still alive
+        assertThat(refreshTokenService.rotate(rotation.refreshToken())).isPresent();
+    }
+
+    @Test
+    void concurrentRotationsOfOneTokenIssueOneSuccessor() throws Exception {
+        String first = refreshTokenService.issue(user);
+        int tabs = 4;
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService executor = Executors.newFixedThreadPool(tabs);
+        List<Optional<RefreshTokenService.Rotation>> rotations;
+        try {
+            List<Future<Optional<RefreshTokenService.Rotation>>> futures = new ArrayList<>();
+            for (int i = 0; i < tabs; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return refreshTokenService.rotate(first);
+                }));
+            }
+            start.countDown();
+            rotations = new ArrayList<>();
+            for (Future<Optional<RefreshTokenService.Rotation>> future : futures) {
+                rotations.add(future.get(30, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(rotations).allSatisfy(rotation -> assertThat(rotation).isPresent());
+        List<String> successors = rotations.stream()
+                .map(rotation -> rotation.get().refreshToken())
+                .filter(Objects::nonNull)
+                .toList();
+        assertThat(successors).hasSize(1);
+        assertThat(refreshTokenService.rotate(successors.get(0))).isPresent();
+    }
+
+    @Test
+    void replayAfterGraceRevokesTheFamily() throws InterruptedException {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).orElseThrow().refreshToken();
+
+        Thread.sleep(1_200);
+
+        assertThat(refreshTokenService.rotate(first)).isEmpty();
+        assertThat(refreshTokenService.rotate(second)).isEmpty();
+    }
+
+    @Test
+    void replayAfterSuccessorRotatedRevokesTheFamilyWithinGrace() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).orElseThrow().refreshToken();
+        String third = refreshTokenService.rotate(second).orElseThrow().refreshToken();
+
+        assertThat(refreshTokenService.rotate(first)).isEmpty();
+        assertThat(refreshTokenService.rotate(third)).isEmpty();
+    }
+
+    @Test
+    void revokedFamilyIsNotRevivedByTheGrace() {
+        String first = refreshTokenService.issue(user);
+        String second = refreshTokenService.rotate(first).orElseThrow().refreshToken();
+
+        refreshTokenService.revoke(second);
+
+        assertThat(refreshTokenService.rotate(first)).isEmpty();
+        assertThat(refreshTokenService.rotate(second)).isEmpty();
+    }
+}
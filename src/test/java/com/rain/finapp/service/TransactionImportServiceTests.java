@@ -0,0 +1,111 @@
+package com.rain.finapp.service;
+
+import com.rain.finapp.dto.ImportJobStatus;
+import com.rain.finapp.model.User;
+import com.rain.finapp.repository.TransactionRepository;
+import com.rain.finapp.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Imports run on the shared executor, so each test waits for its job to finish. Chunks of two rows put
+ * repeated rows in different chunks.
+ */
+@SpringBootTest(properties = "ingest.chunk-size=2")
+class TransactionImportServiceTests {
+
+    private static final String STATEMENT = """
+            Date,Amount,Description,Category
+            2025-06-02,-3.50,Latte,Coffee
+            2025-06-02,-2.00,Bagel,Food
+            2025-06-02,-3.50,Latte,Coffee
+            """;
+
+    @Autowired
+    private TransactionImportService importService;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private User user;
+
+    @BeforeEach
+    void createUser() {
+        String name = "import-" + UUID.randomUUID();
+        user = new User();
+        user.setUsername(name);
+        user.setEmail(name + "@example.com");
+        user.setPassword("not-a-hash");
+        user = userRepository.save(user);
+    }
+
+    @AfterEach
+    void deleteUser() {
+        // Transactions and categories reference the user without ON DELETE CASCADE
+        UUID userId = user.getUserId();
+        jdbcTemplate.update("DELETE FROM transaction_rollups WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM transactions WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM categories WHERE user_id = ?", userId);
+        jdbcTemplate.update("DELETE FROM users WHERE userId = ?", userId);
+    }
+
+    @Test
+    void identicalRowsInOneStatementAreAllImported() throws Exception {
+        ImportJobStatus job = runImport(STATEMENT);
+
+        assertThat(job.getImported()).isEqualTo(3);
+        assertThat(job.getDuplicates()).isZero();
+        assertThat(transactionRepository.countByUser(user)).isEqualTo(3);
+    }
+
+    @Test
+    void reimportedStatementAddsNothing() throws Exception {
+        runImport(STATEMENT);
+
+        ImportJobStatus again = runImport(STATEMENT);
+
+        assertThat(again.getImported()).isZero();
+        assertThat(again.getDuplicates()).isEqualTo(3);
+        assertThat(transactionRepository.countByUser(user)).isEqualTo(3);
+    }
+
+    @Test
+    void onlyRowsBeyondTheExistingCountAreImported() throws Exception {
+        runImport(STATEMENT);
+
+        // The same day with a third latte: two match the existing ones, the third is new
+        ImportJobStatus job = runImport(STATEMENT + "2025-06-02,-3.50,Latte,Coffee\n");
+
+        assertThat(job.getImported()).isEqualTo(1);
+        assertThat(job.getDuplicates()).isEqualTo(3);
+        assertThat(transactionRepository.countByUser(user)).isEqualTo(4);
+    }
+
+    private ImportJobStatus runImport(String csv) throws Exception {
+        MockMultipartFile file = new MockMultipartFile("file", "statement.csv", "text/csv",
+                csv.getBytes(StandardCharsets.UTF_8));
+        ImportJobStatus job = importService.submit(user.getUserId(), file, null, "Uncategorized");
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(job.getState()).isEqualTo(ImportJobStatus.State.COMPLETED);
+        return job;
+    }
+}
@@ -0,0 +1,55 @@
+package com.rain.finapp.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The hash computed in Java for new rows must equal the one the SQL function computes for rows written
+ * without it (backfill, and the previous release during a rolling deploy), or re-imports are not matched.
+ */
+@SpringBootTest
+class ContentHashTests {
+
+    // Late on the 2nd in UTC+10, still the 1st in UTC
+    private static final OffsetDateTime DATE = OffsetDateTime.parse("2025-06-02T08:30:00+10:00");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @ParameterizedTest
+    @ValueSource(strings = {"", "Latte", "  LATTE  ", "\tCoffee Shop\r\n", "\u000BRent\f", "\u0001Bell\u0001",
+            "Café CRÈME", "ÄÖÜ ß", "İstanbul", "Σίσυφος", " non-breaking ", "emoji 😀"})
+    void sqlFunctionMatchesJava(String description) {
+        assertSameHash(DATE, new BigDecimal("3.50"), description);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.00", "-12.50", "3.5", "1234567.89"})
+    void amountsMatch(String amount) {
+        assertSameHash(DATE, new BigDecimal(amount), "Latte");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"2025-06-02T08:30:00+10:00", "2025-01-01T00:00:00Z", "2024-12-31T23:59:59-05:00"})
+    void datesMatchAndNullDescriptionIsEmpty(String date) {
+        assertSameHash(OffsetDateTime.parse(date), new BigDecimal("10.00"), null);
+    }
+
+    private void assertSameHash(OffsetDateTime date, BigDecimal amount, String description) {
+        // The column is numeric(19, 2), so the function sees the amount at scale 2
+        String sql = jdbcTemplate.queryForObject(
+                "SELECT transactions_content_hash(?, CAST(CAST(? AS numeric(19, 2)) AS numeric), ?)", String.class,
+                date, amount, description);
+
+        assertThat(sql).as("hash of %s | %s | %s", date, amount, description)
+                .isEqualTo(ContentHash.of(date, amount, description));
+    }
+}
@@ -0,0 +1,143 @@
+package com.rain.finapp.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the limiter with explicit instants, so refill and wait times are exact.
+ */
+class RateLimiterTests {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final long START = 1_000 * SECOND;
+
+    @Test
+    void allowsBurstUpToCapacityThenRejects() {
+        RateLimiter limiter = new RateLimiter("test", 3, 3, Duration.ofSeconds(3));
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(limiter.tryAcquire("client", START)).isZero();
+        }
+        assertThat(limiter.tryAcquire("client", START)).isPositive();
+        // Buckets are per key
+        assertThat(limiter.tryAcquire("other", START)).isZero();
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        RateLimiter limiter = new RateLimiter("test", 2, 2, Duration.ofSeconds(2));
+        limiter.tryAcquire("client", START);
+        limiter.tryAcquire("client", START);
+
+        assertThat(limiter.tryAcquire("client", START + SECOND - 1)).isPositive();
+        assertThat(limiter.tryAcquire("client", START + SECOND)).isZero();
+        assertThat(limiter.tryAcquire("client", START + SECOND)).isPositive();
+
+        // A long pause refills to capacity, not beyond it
+        long later = START + 60 * SECOND;
+        assertThat(limiter.tryAcquire("client", later)).isZero();
+        assertThat(limiter.tryAcquire("client", later)).isZero();
+        assertThat(limiter.tryAcquire("client", later)).isPositive();
+    }
+
+    @Test
+    void rejectionReportsTimeUntilNextToken() {
+        RateLimiter limiter = new RateLimiter("test", 1, 1, Duration.ofSeconds(10));
+        limiter.tryAcquire("client", START);
+
+        assertThat(limiter.tryAcquire("client", START)).isEqualTo(10 * SECOND);
+        long wait = limiter.tryAcquire("client", START + 4 * SECOND);
+        assertThat(wait).isEqualTo(6 * SECOND);
+
+        // Rejections do not consume, so retrying after the reported wait succeeds
+        assertThat(limiter.tryAcquire("client", START + 4 * SECOND + wait)).isZero();
+    }
+
+    @Test
+    void evictsOnlyFullyRefilledBuckets() {
+        RateLimiter limiter = new RateLimiter("test", 2, 2, Duration.ofSeconds(2));
+        limiter.tryAcquire("idle", START);
+        limiter.tryAcquire("busy", START + 10 * SECOND);
+
+        assertThat(limiter.evictIdle(START + 10 * SECOND)).isEqualTo(1);
+        assertThat(limiter.size()).isEqualTo(1);
+
+        // The busy bucket kept its state: one token left, then rejected
+        assertThat(limiter.tryAcquire("busy", START + 10 * SECOND)).isZero();
+        assertThat(limiter.tryAcquire("busy", START + 10 * SECOND)).isPositive();
+    }
+
+    @Test
+    void evictionRacingAcquisitionsNeverGrantsExtraTokens() throws Exception {
+        int capacity = 5;
+        int keys = 64;
+        int rounds = 1_000;
+        int threads = 4;
+        // No refill within a round: all threads use the round's instant, so each key grants exactly capacity
+        // tokens per round. Rounds are far enough apart that every bucket is idle again when the next one
+        // starts, so the evictor races the acquisitions on every key, every round.
+        long roundGap = 10 * TimeUnit.HOURS.toNanos(1);
+        RateLimiter limiter = new RateLimiter("test", capacity, 1, Duration.ofHours(1));
+        AtomicIntegerArray granted = new AtomicIntegerArray(rounds * keys);
+        AtomicLong now = new AtomicLong(START);
+        AtomicBoolean done = new AtomicBoolean();
+        CyclicBarrier nextRound = new CyclicBarrier(threads, () -> now.addAndGet(roundGap));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+        try {
+            Future<?> evictor = executor.submit(() -> {
+                while (!done.get()) {
+                    limiter.evictIdle(now.get());
+                }
+            });
+            List<Future<?>> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                workers.add(executor.submit(() -> {
+                    for (int round = 0; round < rounds; round++) {
+                        long instant = now.get();
+                        for (int attempt = 0; attempt < capacity; attempt++) {
+                            for (int key = 0; key < keys; key++) {
+                                if (limiter.tryAcquire("client-" + key, instant) == 0) {
+                                    granted.incrementAndGet(round * keys + key);
+                                }
+                            }
+                            // Gives the evictor a chance to interleave even on few cores
+                            Thread.yield();
+                        }
+                        nextRound.await(30, TimeUnit.SECONDS);
+                    }
+                    return null;
+                }));
+            }
+
+            for (Future<?> worker : workers) {
+                worker.get(60, TimeUnit.SECONDS);
+            }
+            done.set(true);
+            evictor.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        for (int round = 0; round < rounds; round++) {
+            for (int key = 0; key < keys; key++) {
+                assertThat(granted.get(round * keys + key))
+                        .as("tokens granted to client-%d in round %d", key, round)
+                        .isEqualTo(capacity);
+            }
+        }
+    }
+}
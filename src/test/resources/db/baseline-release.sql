@@ -0,0 +1,61 @@
+-- A database as the baseline release left it: the schema hibernate.ddl-auto=update created, with Hibernate's
+-- constraint names, and a user with a few transactions and a category.
+
+CREATE TABLE users (
+    userId          uuid           NOT NULL,
+    created_at      timestamptz    NOT NULL,
+    email           varchar(255)   NOT NULL,
+    monthly_budget  numeric(19, 2),
+    password        varchar(255)   NOT NULL,
+    username        varchar(255)   NOT NULL,
+    CONSTRAINT users_pkey PRIMARY KEY (userId),
+    CONSTRAINT ukr43af9ap4edm43mmtq01oddj6 UNIQUE (username),
+    CONSTRAINT uk6dotkott2kjsp8vw4d0m25fb7 UNIQUE (email)
+);
+
+CREATE TABLE categories (
+    categoryId  uuid           NOT NULL,
+    budget      numeric(19, 2),
+    created_at  timestamptz    NOT NULL,
+    name        varchar(100)   NOT NULL,
+    updated_at  timestamptz,
+    user_id     uuid           NOT NULL,
+    CONSTRAINT categories_pkey PRIMARY KEY (categoryId)
+);
+
+CREATE TABLE transactions (
+    transactionId    uuid           NOT NULL,
+    amount           numeric(19, 2) NOT NULL,
+    category         varchar(100)   NOT NULL,
+    created_at       timestamptz    NOT NULL,
+    description      varchar(500),
+    transactionDate  timestamptz    NOT NULL,
+    type             varchar(20),
+    updated_at       timestamptz,
+    user_id          uuid           NOT NULL,
+    CONSTRAINT transactions_pkey PRIMARY KEY (transactionId),
+    CONSTRAINT transactions_type_check CHECK (type IN ('INCOME', 'EXPENSE'))
+);
+
+ALTER TABLE categories ADD CONSTRAINT fkghuylkwuedgl2qahxjt8g41kb FOREIGN KEY (user_id) REFERENCES users;
+ALTER TABLE transactions ADD CONSTRAINT fkqwv7rmvc8va8rep7piikrojds FOREIGN KEY (user_id) REFERENCES users;
+
+INSERT INTO users (userId, created_at, email, monthly_budget, password, username)
+VALUES ('6f1c2a9e-0000-4000-8000-000000000001', '2025-06-01 09:00:00+00', 'base@example.com', 1500.00,
+        'not-a-hash', 'base');
+
+INSERT INTO categories (categoryId, budget, created_at, name, updated_at, user_id)
+VALUES ('6f1c2a9e-0000-4000-8000-000000000101', 200.00, '2025-06-01 09:05:00+00', 'Coffee', NULL,
+        '6f1c2a9e-0000-4000-8000-000000000001');
+
+-- Coffee has a category row, Salary does not (the baseline release did not require one)
+INSERT INTO transactions (transactionId, amount, category, created_at, description, transactionDate, type,
+                          updated_at, user_id)
+VALUES ('6f1c2a9e-0000-4000-8000-000000000201', 3.50, 'Coffee', '2025-06-02 08:00:00+00', 'Latte',
+        '2025-06-02 07:30:00+00', 'EXPENSE', NULL, '6f1c2a9e-0000-4000-8000-000000000001'),
+       ('6f1c2a9e-0000-4000-8000-000000000202', 3.50, 'Coffee', '2025-06-02 12:00:00+00', 'Latte',
+        '2025-06-02 11:30:00+00', 'EXPENSE', NULL, '6f1c2a9e-0000-4000-8000-000000000001'),
+       ('6f1c2a9e-0000-4000-8000-000000000203', 4.25, 'Coffee', '2025-06-20 08:00:00+00', ' Flat White ',
+        '2025-06-20 07:30:00+00', 'EXPENSE', NULL, '6f1c2a9e-0000-4000-8000-000000000001'),
+       ('6f1c2a9e-0000-4000-8000-000000000204', 3200.00, 'Salary', '2025-06-30 08:00:00+00', NULL,
+        '2025-06-30 00:00:00+00', 'INCOME', NULL, '6f1c2a9e-0000-4000-8000-000000000001');